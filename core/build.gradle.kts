@@ -30,6 +30,7 @@ dependencies {
     implementation("com.fasterxml.jackson.core:jackson-databind")
     implementation("com.fasterxml.jackson.core:jackson-annotations")
     implementation("com.fasterxml.jackson.core:jackson-core")
+    implementation("com.fasterxml.jackson.module:jackson-module-blackbird")
 
     implementation("org.slf4j:slf4j-api:$slf4j")
 
@@ -38,6 +39,7 @@ dependencies {
 
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation(project(":testkit"))
     testImplementation("ch.qos.logback:logback-classic:$logback")
     implementation(kotlin("stdlib-jdk8"))
 }
@@ -1,21 +1,47 @@
 package hu.gigsystem.szamlazz4j;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import hu.gigsystem.szamlazz4j.cache.HeapResponseCache;
+import hu.gigsystem.szamlazz4j.cache.ResponseCache;
 import hu.gigsystem.szamlazz4j.model.BaseRequest;
+import hu.gigsystem.szamlazz4j.model.BaseResponse;
+import hu.gigsystem.szamlazz4j.model.HeaderResponseRequest;
+import hu.gigsystem.szamlazz4j.model.ProjectedResponse;
+import hu.gigsystem.szamlazz4j.model.Projection;
+import hu.gigsystem.szamlazz4j.model.ResponseReader;
+import hu.gigsystem.szamlazz4j.model.XmlMapping;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.model.invoice.query.InvoicePdfQueryRequest;
+import hu.gigsystem.szamlazz4j.request.Bulkheads;
+import hu.gigsystem.szamlazz4j.request.CircuitBreaker;
+import hu.gigsystem.szamlazz4j.request.DeadlineExceededException;
+import hu.gigsystem.szamlazz4j.request.HedgePolicy;
+import hu.gigsystem.szamlazz4j.request.Priority;
+import hu.gigsystem.szamlazz4j.request.PriorityDispatcher;
+import hu.gigsystem.szamlazz4j.request.RawResponse;
+import hu.gigsystem.szamlazz4j.request.RequestOptions;
 import hu.gigsystem.szamlazz4j.request.RequestValidationException;
 import hu.gigsystem.szamlazz4j.request.RequestValidator;
+import hu.gigsystem.szamlazz4j.request.RequestRejectedException;
 import hu.gigsystem.szamlazz4j.request.Requester;
+import hu.gigsystem.szamlazz4j.request.SingleFlight;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Singular;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The {@code SzamlaAgent} class is a client for interacting with the Számlázz.hu invoicing API.
@@ -34,7 +60,8 @@ import java.time.Duration;
  * allowing customization or mocking during testing.</p>
  *
  * <p>The class uses a configured {@link XmlMapper} for XML serialization/deserialization
- * with specific settings, including writing the XML declaration and ignoring unknown properties.</p>
+ * with specific settings, including writing the XML declaration and ignoring unknown properties,
+ * held by an {@link XmlMapping} which can be injected and shared.</p>
  *
  * <h2>Authentication</h2>
  * <ul>
@@ -63,6 +90,9 @@ import java.time.Duration;
 @Builder(builderClassName = "Builder")
 public class SzamlaAgent {
 
+    /**
+     * The default endpoint of the Számlázz.hu agent API.
+     */
     public static final String ENDPOINT = "https://www.szamlazz.hu/szamla/";
 
     /**
@@ -110,6 +140,7 @@ public class SzamlaAgent {
     /**
      * Flag indicating whether caching of responses is enabled.
      * If this is property set on the request builder, then that takes priority.
+     * Only the responses of requests with an {@linkplain BaseRequest#getIdempotencyKey() idempotency key} are cached.
      */
     @lombok.Builder.Default
     private final boolean enableCaching = true;
@@ -122,15 +153,54 @@ public class SzamlaAgent {
     private final Requester requester;
 
     /**
-     * The {@link XmlMapper} instance used internally for XML serialization and deserialization.
-     * This field is initialized automatically and is not exposed via the builder.
+     * The URL the requests are sent to. Defaults to {@link #ENDPOINT}.
+     * Can be pointed to a local stub server (see the {@code testkit} module) for offline testing.
+     */
+    @lombok.Builder.Default
+    private final String endpoint = ENDPOINT;
+
+    /**
+     * Optional circuit breaker which rejects requests without sending them while the API is failing.
+     * {@code null} disables it.
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * Optional per-operation concurrency limits, so one kind of request cannot occupy every caller thread.
+     * {@code null} disables them.
+     */
+    private final Bulkheads bulkheads;
+
+    /**
+     * Optional dispatcher limiting the concurrent calls and ordering the waiting ones by priority.
+     * {@code null} disables it.
      */
-    private final XmlMapper mapper = createMapper();
+    private final PriorityDispatcher dispatcher;
 
-    private final Cache<Integer, Object> responseCache = Caffeine.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(Duration.ofMinutes(5))
-            .build();
+    /**
+     * Readers parsing the responses of the given types instead of the {@link XmlMapper}, e.g. {@link ResponseReader#stax()}.
+     * Responses of other types are parsed by the mapper.
+     */
+    @Singular
+    private final Map<Class<?>, ResponseReader<?>> responseReaders;
+
+    /**
+     * The XML binding of the requests and responses, which can be shared by agents.
+     * The {@link XmlMapping#shared() shared default mapping} if not set.
+     */
+    private final XmlMapping mapping;
+
+    /**
+     * The cache of the responses if {@link #enableCaching} is set, which can be shared by agents: the entries are scoped
+     * to the account and the endpoint of the agent. A {@link HeapResponseCache} of 1000 responses for 5 minutes shared by
+     * every agent if not set.
+     */
+    private final ResponseCache responseCache;
+
+    /**
+     * Deduplicates concurrent identical idempotent requests, so they share one network call.
+     */
+    private final SingleFlight singleFlight = new SingleFlight();
 
     /**
      * Constructs a new {@code SzamlaAgent} instance. Used by Lombok.
@@ -138,18 +208,25 @@ public class SzamlaAgent {
      * <p>Authentication must be done using either a {@code key} or a combination of {@code username} and {@code password}.
      * Providing both authentication methods simultaneously or missing required credentials will throw an {@link IllegalArgumentException}.</p>
      *
-     * @param username      the username for authentication (not needed if {@code key} is provided)
-     * @param password      the password for authentication (not needed if {@code key} is provided)
-     * @param key           the API key for authentication (not needed if {@code username} and {@code password} are provided)
-     * @param bank          optional bank name to be included in requests
-     * @param bankNumber    optional bank account number to be included in requests
-     * @param emailReplyTo  optional email address used as reply-to in requests
-     * @param signerName    optional name of the signer for documents
-     * @param enableCaching whether to enable caching of responses
-     * @param requester     the {@link Requester} instance used to execute HTTP requests (must not be null)
+     * @param username        the username for authentication (not needed if {@code key} is provided)
+     * @param password        the password for authentication (not needed if {@code key} is provided)
+     * @param key             the API key for authentication (not needed if {@code username} and {@code password} are provided)
+     * @param bank            optional bank name to be included in requests
+     * @param bankNumber      optional bank account number to be included in requests
+     * @param emailReplyTo    optional email address used as reply-to in requests
+     * @param signerName      optional name of the signer for documents
+     * @param enableCaching   whether to enable caching of responses
+     * @param requester       the {@link Requester} instance used to execute HTTP requests (must not be null)
+     * @param endpoint        the URL the requests are sent to, {@link #ENDPOINT} if {@code null}
+     * @param circuitBreaker  optional circuit breaker around the requester
+     * @param bulkheads       optional per-operation concurrency limits
+     * @param dispatcher      optional priority-aware concurrency limit in front of the requester
+     * @param responseReaders readers used instead of the mapper, by response type
+     * @param mapping         the XML binding, the {@link XmlMapping#shared() shared default mapping} if {@code null}
+     * @param responseCache   the cache of the responses, the cache shared by every agent if {@code null}
      * @throws IllegalArgumentException if authentication parameters are invalid or missing
      */
-    protected SzamlaAgent(String username, String password, String key, String bank, String bankNumber, String emailReplyTo, String signerName, boolean enableCaching, @NonNull Requester requester) {
+    protected SzamlaAgent(String username, String password, String key, String bank, String bankNumber, String emailReplyTo, String signerName, boolean enableCaching, @NonNull Requester requester, String endpoint, CircuitBreaker circuitBreaker, Bulkheads bulkheads, PriorityDispatcher dispatcher, Map<Class<?>, ResponseReader<?>> responseReaders, XmlMapping mapping, ResponseCache responseCache) {
         if (key != null && (username != null || password != null)) {
             throw new IllegalArgumentException("Only combinations [key] or [username & password] is allowed!");
         }
@@ -165,28 +242,22 @@ public class SzamlaAgent {
         this.signerName = signerName;
         this.enableCaching = enableCaching;
         this.requester = requester;
+        this.endpoint = endpoint == null ? ENDPOINT : endpoint;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkheads = bulkheads;
+        this.dispatcher = dispatcher;
+        this.responseReaders = responseReaders == null ? Map.of() : responseReaders;
+        this.mapping = mapping == null ? XmlMapping.shared() : mapping;
+        this.responseCache = responseCache == null ? SharedCache.INSTANCE : responseCache;
     }
 
     /**
-     * Creates and configures a new {@link XmlMapper} instance used for XML serialization and deserialization.
-     *
-     * <p>The mapper is configured to:</p>
-     * <ul>
-     *   <li>Write the XML declaration</li>
-     *   <li>Ignore unknown properties during deserialization</li>
-     *   <li>Include non-null and non-empty properties only during serialization</li>
-     *   <li>Automatically register available modules</li>
-     * </ul>
+     * Returns the {@link XmlMapper} of the {@link #mapping}, used for XML serialization and deserialization.
      *
-     * @return a configured {@link XmlMapper} instance
+     * @return the mapper of the agent
      */
-    private static XmlMapper createMapper() {
-        return (XmlMapper) new XmlMapper()
-                .configure(com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator.Feature.WRITE_XML_DECLARATION, true)
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                .findAndRegisterModules()
-                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-                .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+    public XmlMapper getMapper() {
+        return mapping.getMapper();
     }
 
     /**
@@ -200,23 +271,478 @@ public class SzamlaAgent {
      * @throws RuntimeException if the underlying request execution fails or response cannot be parsed
      */
     public <T> T sendRequest(BaseRequest<T> request, Class<T> clazz) throws IOException, RequestValidationException {
+        return sendRequest(request, clazz, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a request to the Számlázz.hu API with per-call options, and parses the response into an object of the requested type.
+     *
+     * <p>If the options have a deadline, the time remaining from it is passed to the {@link Requester} as the timeout of the call,
+     * and a {@link DeadlineExceededException} is thrown once it has passed. If the options have a {@link HedgePolicy} and the
+     * request is {@linkplain BaseRequest#isIdempotent() idempotent}, a slow call is hedged with a second attempt.</p>
+     *
+     * <p>Concurrent calls of requests with the same {@linkplain BaseRequest#getIdempotencyKey() idempotency key} share
+     * a single network call and the same response object.</p>
+     *
+     * @param <T>     the type of the expected response object
+     * @param request the request object to send (must not be null)
+     * @param clazz   the type of the expected response object
+     * @param options the options of this call (must not be null)
+     * @return the response deserialized from XML into an object of type {@code T}
+     * @throws DeadlineExceededException  if the call did not complete within the deadline
+     * @throws IOException                if the underlying request execution fails or response cannot be parsed
+     * @throws RequestValidationException if the request does not conform to its schema
+     */
+    public <T> T sendRequest(BaseRequest<T> request, Class<T> clazz, @NonNull RequestOptions options) throws IOException, RequestValidationException {
+        long start = System.nanoTime();
         request.setAgent(this);
         String data = validateRequest(request);
 
-        if (enableCaching) {
-            Object cachedData = responseCache.getIfPresent(request.hashCode());
-            if (cachedData != null) {
-                return clazz.cast(cachedData);
+        Object key = request.getIdempotencyKey();
+        if (enableCaching && key != null) {
+            T cached = responseCache.get(cacheKey(key), clazz, xml -> parse(xml, clazz));
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        if (key == null) {
+            return fetch(request, clazz, data, options, start);
+        }
+        return singleFlight.execute(key, () -> fetch(request, clazz, data, options, start), request.getFileName(), options, start);
+    }
+
+    /**
+     * Sends a request to the Számlázz.hu API and parses only the elements of the response given by the projection.
+     *
+     * @param request    the request object to send (must not be null)
+     * @param projection the elements of the response to parse (must not be null)
+     * @return the values of the requested elements
+     * @throws IOException                if the underlying request execution fails or response cannot be parsed
+     * @throws RequestValidationException if the request does not conform to its schema
+     */
+    public ProjectedResponse sendRequest(BaseRequest<?> request, Projection projection) throws IOException, RequestValidationException {
+        return sendRequest(request, projection, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a request to the Számlázz.hu API with per-call options, and parses only the elements of the response given by the projection.
+     *
+     * <p>Deadlines and hedging apply the same way as for typed calls. Projected calls are neither cached nor shared
+     * with concurrent identical calls, as those hold fully parsed responses.</p>
+     *
+     * @param request    the request object to send (must not be null)
+     * @param projection the elements of the response to parse (must not be null)
+     * @param options    the options of this call (must not be null)
+     * @return the values of the requested elements
+     * @throws DeadlineExceededException  if the call did not complete within the deadline
+     * @throws IOException                if the underlying request execution fails or response cannot be parsed
+     * @throws RequestValidationException if the request does not conform to its schema
+     */
+    public ProjectedResponse sendRequest(BaseRequest<?> request, @NonNull Projection projection, @NonNull RequestOptions options) throws IOException, RequestValidationException {
+        long start = System.nanoTime();
+        request.setAgent(this);
+        String data = validateRequest(request);
+        ProjectedResponse response;
+        try (RawResponse raw = call(data, request, options, start)) {
+            response = projection.read(raw.readString());
+        }
+        options.remaining(request.getFileName(), start);
+        return response;
+    }
+
+    /**
+     * Downloads the PDF of an invoice as the raw response body, and streams it into the given stream.
+     *
+     * @param request the PDF query (must not be null), sent with {@link InvoicePdfQueryRequest#RESPONSE_PDF}
+     * @param out     the stream to write the PDF to (must not be null), left open
+     * @return the result read from the response headers, without the PDF
+     * @throws IOException                if the request fails, or the PDF cannot be read or written
+     * @throws RequestValidationException if the request does not conform to its schema
+     */
+    public XmlInvoiceResponse downloadPdf(InvoicePdfQueryRequest request, OutputStream out) throws IOException, RequestValidationException {
+        return downloadPdf(request, out, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Downloads the PDF of an invoice as the raw response body with per-call options, and streams it into the given stream.
+     *
+     * <p>Compared to the XML response, the PDF is neither Base64 encoded by the server nor decoded here, which saves a third of
+     * the transfer and the decoding. Errors are detected from the {@code szlahu_error*} headers, in which case nothing is written.
+     * This needs a {@link Requester} which {@linkplain Requester#execute exposes the response headers}.</p>
+     *
+     * @param request the PDF query (must not be null), sent with {@link InvoicePdfQueryRequest#RESPONSE_PDF}
+     * @param out     the stream to write the PDF to (must not be null), left open
+     * @param options the options of this call (must not be null)
+     * @return the result read from the response headers, without the PDF
+     * @throws DeadlineExceededException  if the call did not complete within the deadline
+     * @throws IOException                if the request fails, or the PDF cannot be read or written
+     * @throws RequestValidationException if the request does not conform to its schema
+     */
+    public XmlInvoiceResponse downloadPdf(@NonNull InvoicePdfQueryRequest request, @NonNull OutputStream out, @NonNull RequestOptions options) throws IOException, RequestValidationException {
+        return downloadPdf(request, options, body -> body.transferTo(out));
+    }
+
+    /**
+     * Downloads the PDF of an invoice as the raw response body, and writes it into a new file.
+     *
+     * @param request the PDF query (must not be null), sent with {@link InvoicePdfQueryRequest#RESPONSE_PDF}
+     * @param target  the file to create (must not be null, must not exist), only created if the download succeeds
+     * @param options the options of this call (must not be null)
+     * @return the result read from the response headers, without the PDF
+     * @throws DeadlineExceededException  if the call did not complete within the deadline
+     * @throws IOException                if the request fails, the file exists or the PDF cannot be read or written
+     * @throws RequestValidationException if the request does not conform to its schema
+     * @see #downloadPdf(InvoicePdfQueryRequest, OutputStream, RequestOptions)
+     */
+    public XmlInvoiceResponse downloadPdf(@NonNull InvoicePdfQueryRequest request, @NonNull Path target, @NonNull RequestOptions options) throws IOException, RequestValidationException {
+        AtomicBoolean created = new AtomicBoolean();
+        try {
+            return downloadPdf(request, options, body -> {
+                try (OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW)) {
+                    created.set(true);
+                    body.transferTo(out);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            // also removes a complete file whose download ran past the deadline
+            if (created.get()) {
+                Files.deleteIfExists(target);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the PDF query with the raw PDF response version, and passes the body to the sink if the headers report success.
+     */
+    private XmlInvoiceResponse downloadPdf(InvoicePdfQueryRequest request, RequestOptions options, PdfSink sink) throws IOException, RequestValidationException {
+        long start = System.nanoTime();
+        InvoicePdfQueryRequest binary = request.toBinary();
+        binary.setAgent(this);
+        String data = validateRequest(binary);
+
+        XmlInvoiceResponse response;
+        try (RawResponse raw = call(data, binary, options, start)) {
+            if (raw.getContentType() == null) {
+                throw new IOException("The requester does not expose the response headers, which the binary PDF download needs!");
+            }
+            response = XmlInvoiceResponse.fromHeaders(raw, false);
+            if (response.isSuccess()) {
+                if (!raw.getContentType().startsWith("application/pdf")) {
+                    throw new IOException("Expected a PDF response, got: " + raw.getContentType());
+                }
+                sink.write(raw.getBody());
+            }
+        }
+        options.remaining(binary.getFileName(), start);
+        return response;
+    }
+
+    /**
+     * Consumer of a downloaded PDF body.
+     */
+    @FunctionalInterface
+    private interface PdfSink {
+        void write(InputStream body) throws IOException;
+    }
+
+    /**
+     * Sends the serialized request, parses the response and stores it in the response cache if enabled and successful.
+     *
+     * @param <T>     the type of the expected response object
+     * @param request the request being sent
+     * @param clazz   the type of the expected response object
+     * @param data    the serialized request
+     * @param options the options of the call
+     * @param start   the {@link System#nanoTime()} the call was started at
+     * @return the parsed response
+     * @throws IOException if the request fails or the response cannot be parsed
+     */
+    private <T> T fetch(BaseRequest<T> request, Class<T> clazz, String data, RequestOptions options, long start) throws IOException {
+        T response;
+        String xml = null;
+        try (RawResponse raw = call(data, request, options, start)) {
+            if (request instanceof HeaderResponseRequest<?> headerRequest && headerRequest.isHeaderResponse()) {
+                response = clazz.cast(headerRequest.readHeaders(raw));
+            } else {
+                xml = raw.readString();
+                response = parse(xml, clazz);
+            }
+        }
+        // the transport may not bound the time of reading the body
+        options.remaining(request.getFileName(), start);
+        Object key = request.getIdempotencyKey();
+        if (enableCaching && key != null && (!(response instanceof BaseResponse base) || base.isSuccess())) {
+            // requests without an idempotency key (creations, payments, cancellations) are never cached, nor are errors
+            responseCache.put(cacheKey(key), response, xml);
+        }
+        return response;
+    }
+
+    /**
+     * Sends the serialized request, hedged if the options have a {@link HedgePolicy} and the request is idempotent.
+     *
+     * @param data    the serialized request
+     * @param request the request being sent
+     * @param options the options of the call
+     * @param start   the {@link System#nanoTime()} the call was started at
+     * @return the raw response, to be closed by the caller
+     * @throws IOException if the request fails
+     */
+    private RawResponse call(String data, BaseRequest<?> request, RequestOptions options, long start) throws IOException {
+        if (options.getHedge() != null && request.isIdempotent()) {
+            // the losing attempt may complete after the call returned, so it must not hold a connection
+            return options.getHedge().execute(() -> doRequest(data, request, options, start).buffered(), request.getFileName(), options, start);
+        }
+        return doRequest(data, request, options, start);
+    }
+
+    /**
+     * Scopes the key of a response to the account and the endpoint of this agent, as the cache can be shared by agents.
+     */
+    private Object cacheKey(Object key) {
+        return List.of(endpoint, this.key != null ? this.key : username, key);
+    }
+
+    /**
+     * Parses a raw response with the {@link ResponseReader} registered for its type, or with the mapper.
+     *
+     * @param <T>         the type of the expected response object
+     * @param rawResponse the raw XML response
+     * @param clazz       the type of the expected response object
+     * @return the parsed response
+     * @throws IOException if the response cannot be parsed
+     */
+    private <T> T parse(String rawResponse, Class<T> clazz) throws IOException {
+        ResponseReader<?> reader = responseReaders.get(clazz);
+        if (reader != null) {
+            return clazz.cast(reader.read(rawResponse));
+        }
+        return mapping.read(rawResponse, clazz);
+    }
+
+    /**
+     * Executes a single attempt of a call with the {@link Requester}, limited to the time remaining from the deadline,
+     * guarded by the circuit breaker, the bulkhead of the operation and the priority dispatcher, if configured.
+     *
+     * @param data    the serialized request
+     * @param request the request being sent
+     * @param options the options of the call
+     * @param start   the {@link System#nanoTime()} the call was started at
+     * @return the raw response, holding the permits of the call and recording its outcome in the circuit breaker when closed
+     * @throws RequestRejectedException if the circuit is open or the bulkhead is full
+     * @throws IOException              if the request fails, the server answered with a {@code 5xx} status or the deadline has passed
+     */
+    private RawResponse doRequest(String data, BaseRequest<?> request, RequestOptions options, long start) throws IOException {
+        String fileName = request.getFileName();
+        options.remaining(fileName, start);
+        CircuitBreaker.Permit permit = circuitBreaker == null ? null : circuitBreaker.acquirePermission(fileName);
+        try {
+            if (bulkheads != null) {
+                bulkheads.acquire(fileName);
             }
+        } catch (IOException e) {
+            if (circuitBreaker != null) {
+                circuitBreaker.onCancelled(permit);
+            }
+            throw e;
+        }
 
-            String rawResponse = requester.doRequest(data, request.getFileName(), this);
-            T response = mapper.readValue(rawResponse, clazz);
-            responseCache.put(request.hashCode(), response);
-            return response;
+        try {
+            if (dispatcher != null) {
+                Priority priority = options.getPriority() != null ? options.getPriority() : request.getDefaultPriority();
+                dispatcher.acquire(priority, fileName, options, start);
+            }
+        } catch (IOException e) {
+            if (circuitBreaker != null) {
+                circuitBreaker.onCancelled(permit);
+            }
+            if (bulkheads != null) {
+                bulkheads.release(fileName);
+            }
+            throw e;
+        }
+
+        RawResponse response;
+        try {
+            response = requester.execute(data, fileName, this, options.remaining(fileName, start));
+            if (response.getStatus() >= 500) {
+                // transports which do not throw on server errors must trip the circuit breaker too
+                response.close();
+                throw new IOException("Server error " + response.getStatus() + " for " + fileName + "!");
+            }
+        } catch (IOException | RuntimeException e) {
+            release(fileName);
+            record(permit, e);
+            throw e;
         }
+        return new GuardedResponse(response, fileName, permit);
+    }
 
-        String rawResponse = requester.doRequest(data, request.getFileName(), this);
-        return mapper.readValue(rawResponse, clazz);
+    /**
+     * Releases the permits of the bulkhead and the dispatcher taken for a call.
+     */
+    private void release(String fileName) {
+        if (dispatcher != null) {
+            dispatcher.release();
+        }
+        if (bulkheads != null) {
+            bulkheads.release(fileName);
+        }
+    }
+
+    /**
+     * Records the outcome of a call in the circuit breaker, a deadline or an interrupt cancels the call instead of failing it.
+     */
+    private void record(CircuitBreaker.Permit permit, Exception failure) {
+        if (circuitBreaker == null) {
+            return;
+        }
+        if (failure == null) {
+            circuitBreaker.onSuccess(permit);
+        } else if (failure instanceof DeadlineExceededException || Thread.currentThread().isInterrupted()) {
+            circuitBreaker.onCancelled(permit);
+        } else {
+            circuitBreaker.onFailure(permit);
+        }
+    }
+
+    /**
+     * A response holding the permits of its call until it is closed, so the body is transferred within the limits of the
+     * bulkhead and the dispatcher, and a failed read of the body counts in the circuit breaker like a failed call.
+     */
+    private final class GuardedResponse extends RawResponse {
+        private final RawResponse response;
+        private final TrackedBody body;
+        private final String fileName;
+        private final CircuitBreaker.Permit permit;
+        private boolean closed;
+
+        private GuardedResponse(RawResponse response, String fileName, CircuitBreaker.Permit permit) {
+            this(response, new TrackedBody(response.getBody()), fileName, permit);
+        }
+
+        private GuardedResponse(RawResponse response, TrackedBody body, String fileName, CircuitBreaker.Permit permit) {
+            super(response.getStatus(), response.getHeaders(), body);
+            this.response = response;
+            this.body = body;
+            this.fileName = fileName;
+            this.permit = permit;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                response.close();
+            } finally {
+                release(fileName);
+                record(permit, body.failure);
+            }
+        }
+    }
+
+    /**
+     * A response body remembering the first failure of reading it.
+     */
+    private static final class TrackedBody extends FilterInputStream {
+        private IOException failure;
+
+        private TrackedBody(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                throw failed(e);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                throw failed(e);
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            try {
+                return super.skip(n);
+            } catch (IOException e) {
+                throw failed(e);
+            }
+        }
+
+        private IOException failed(IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+            return e;
+        }
+    }
+
+    /**
+     * Prepares the agent for its first request, like {@link #warmUp(boolean)} with connecting to the endpoint.
+     *
+     * @return the timings of the warm-up
+     * @throws IllegalStateException if a schema or the sample request is invalid
+     */
+    public WarmUpReport warmUp() {
+        return warmUp(true);
+    }
+
+    /**
+     * Prepares the agent for its first request, which otherwise pays for the one-time initialization of every layer.
+     * Useful in short-lived containers or functions, called during startup instead of on the first request.
+     *
+     * <ol>
+     *     <li>Builds the serializers of every request class and the deserializers of every response class,
+     *     including the Blackbird generated accessors ({@link XmlMapping#warmUp()}).</li>
+     *     <li>Compiles every request schema of {@link RequestValidator#SCHEMA_FILES}, and serializes and validates a sample request.</li>
+     *     <li>If asked to, opens a connection to the endpoint with {@link Requester#preconnect(SzamlaAgent)}.
+     *     A failed connection does not fail the warm-up, it is reported instead.</li>
+     * </ol>
+     *
+     * @param connect whether a connection to the endpoint is opened
+     * @return the timings of the warm-up
+     * @throws IllegalStateException if a schema or the sample request is invalid
+     */
+    public WarmUpReport warmUp(boolean connect) {
+        long start = System.nanoTime();
+        mapping.warmUp();
+        long mapped = System.nanoTime();
+
+        RequestValidator.compile(RequestValidator.SCHEMA_FILES);
+        InvoicePdfQueryRequest sample = InvoicePdfQueryRequest.builder().invoiceNumber("WARM-UP-1").build();
+        sample.setAgent(this);
+        try {
+            validateRequest(sample);
+        } catch (RequestValidationException e) {
+            throw new IllegalStateException("Sample request of the warm-up is invalid!", e);
+        }
+        long compiled = System.nanoTime();
+
+        Duration connection = null;
+        IOException connectionError = null;
+        if (connect) {
+            try {
+                requester.preconnect(this);
+            } catch (IOException e) {
+                connectionError = e;
+            }
+            connection = Duration.ofNanos(System.nanoTime() - compiled);
+        }
+        return new WarmUpReport(Duration.ofNanos(mapped - start), Duration.ofNanos(compiled - mapped), connection, connectionError);
     }
 
     /**
@@ -231,11 +757,18 @@ public class SzamlaAgent {
     public String validateRequest(BaseRequest<?> request) throws RequestValidationException {
         String data;
         try {
-            data = mapper.writeValueAsString(request);
+            data = request.toXml(mapping);
         } catch (JsonProcessingException e) {
             throw new RequestValidationException("Request validation failed!", e);
         }
         RequestValidator.validateRequest(data, request.getSchemaFile());
         return data;
     }
+
+    /**
+     * Lazy holder of the response cache shared by the agents which are not given one.
+     */
+    private static final class SharedCache {
+        private static final ResponseCache INSTANCE = HeapResponseCache.builder().build();
+    }
 }
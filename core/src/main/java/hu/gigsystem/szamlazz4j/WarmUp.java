@@ -0,0 +1,38 @@
+package hu.gigsystem.szamlazz4j;
+
+import java.io.IOException;
+
+/**
+ * Build-time warm-up: initializes an offline agent like {@link SzamlaAgent#warmUp(boolean)}, without sending any request,
+ * so the classes it loads can be recorded in a class data sharing archive of the application image:
+ *
+ * <pre>{@code
+ * java -XX:ArchiveClassesAtExit=szamlazz4j.jsa -cp app.jar:libs/* hu.gigsystem.szamlazz4j.WarmUp
+ * java -XX:SharedArchiveFile=szamlazz4j.jsa -cp app.jar:libs/* com.example.Main
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public final class WarmUp {
+
+    private WarmUp() {
+        // static use only
+    }
+
+    /**
+     * Runs the warm-up and prints its timings.
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        SzamlaAgent agent = SzamlaAgent.builder()
+                .key("warm-up")
+                .requester((xmlPayload, fileName, ignored) -> {
+                    throw new IOException("The build-time warm-up does not send requests!");
+                })
+                .build();
+        System.out.println(agent.warmUp(false));
+    }
+}
@@ -0,0 +1,64 @@
+package hu.gigsystem.szamlazz4j;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * The timings of {@link SzamlaAgent#warmUp()}, e.g. to log the startup cost of a short-lived container or function.
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@AllArgsConstructor
+public class WarmUpReport {
+
+    /**
+     * The time it took to build the serializers and deserializers of the request and response classes.
+     */
+    private final Duration mapper;
+
+    /**
+     * The time it took to compile the request schemas and validate a sample request.
+     */
+    private final Duration schemas;
+
+    /**
+     * The time it took to connect to the endpoint, {@code null} if no connection was made.
+     */
+    private final Duration connection;
+
+    /**
+     * The reason the connection failed, {@code null} if it succeeded or was not made.
+     */
+    private final Throwable connectionError;
+
+    /**
+     * Returns the duration of the whole warm-up.
+     *
+     * @return the sum of the phases
+     */
+    public Duration getTotal() {
+        return connection == null ? mapper.plus(schemas) : mapper.plus(schemas).plus(connection);
+    }
+
+    /**
+     * Tells whether the transport is connected to the endpoint.
+     *
+     * @return {@code true} if the connection was made and succeeded
+     */
+    public boolean isConnected() {
+        return connection != null && connectionError == null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "warm-up %d ms: mapper %d ms, schemas %d ms, connection %s",
+                getTotal().toMillis(), mapper.toMillis(), schemas.toMillis(),
+                connection == null ? "skipped" : connectionError != null ? "failed (" + connectionError.getMessage() + ")" : connection.toMillis() + " ms");
+    }
+}
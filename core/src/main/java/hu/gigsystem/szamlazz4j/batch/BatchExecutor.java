@@ -0,0 +1,207 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Runs a task for every item of a batch with bounded concurrency, an optional rate limit and optional retries,
+ * collecting a {@link BatchResult} for each item instead of stopping at the first failure.
+ *
+ * <p>This is the engine of the batch helpers of this package, and can be used directly
+ * for custom batches of {@link hu.gigsystem.szamlazz4j.SzamlaAgent#sendRequest} calls.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * BatchExecutor executor = BatchExecutor.builder()
+ *                                       .maxConcurrency(4)
+ *                                       .rateLimiter(RateLimiter.perSecond(10))
+ *                                       .build();
+ *
+ * BatchReport<String, FullInvoiceResponse> report = executor.run(invoiceNumbers, number ->
+ *         agent.sendRequest(InvoiceQueryRequest.builder().invoiceNumber(number).build(), FullInvoiceResponse.class));
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder", toBuilder = true)
+public class BatchExecutor {
+
+    /**
+     * The maximum number of items processed at the same time.
+     */
+    @lombok.Builder.Default
+    private final int maxConcurrency = 4;
+
+    /**
+     * Optional limit of the rate items are started with. {@code null} means no limit.
+     */
+    private final RateLimiter rateLimiter;
+
+    /**
+     * Optional executor to run the items on. If {@code null}, a pool of {@link #maxConcurrency} threads is created for each batch.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The maximum number of attempts of an item, {@code 1} disables retries.
+     */
+    @lombok.Builder.Default
+    private final int maxAttempts = 1;
+
+    /**
+     * The wait before the first retry of an item, doubled for every further retry.
+     */
+    @lombok.Builder.Default
+    private final Duration retryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Decides whether a failed attempt is retried. By default transport failures ({@link IOException}s) are retried,
+     * including requests rejected by the circuit breaker or a bulkhead of the agent, but not validation errors.
+     */
+    @lombok.Builder.Default
+    private final Predicate<Throwable> retryOn = IOException.class::isInstance;
+
+    /**
+     * The task of a batch, processing a single item.
+     *
+     * @param <K> the type of the item
+     * @param <R> the type of the response
+     */
+    @FunctionalInterface
+    public interface Task<K, R> {
+
+        /**
+         * Processes the item.
+         *
+         * @param item the item
+         * @return the response of the item
+         * @throws Exception if the item could not be processed
+         */
+        R execute(K item) throws Exception;
+    }
+
+    /**
+     * Processes every item and waits for the batch to complete.
+     *
+     * @param <K>   the type of the items
+     * @param <R>   the type of the responses
+     * @param items the items of the batch
+     * @param task  the task processing a single item
+     * @return the report of the batch
+     * @throws InterruptedException if the thread was interrupted while waiting; items not yet started are skipped
+     */
+    public <K, R> BatchReport<K, R> run(Collection<K> items, Task<K, R> task) throws InterruptedException {
+        return run(items, task, result -> {
+        });
+    }
+
+    /**
+     * Processes every item and waits for the batch to complete, notifying the listener as soon as an item completes.
+     *
+     * @param <K>      the type of the items
+     * @param <R>      the type of the responses
+     * @param items    the items of the batch
+     * @param task     the task processing a single item
+     * @param listener called with the result of each item from the worker thread, e.g. to log the progress
+     * @return the report of the batch; items which were not processed are reported as failed with a {@link CancellationException},
+     * and the exceptions thrown by the listener are {@linkplain BatchReport#getListenerFailure() attached to it}
+     * @throws InterruptedException if the thread was interrupted while waiting; items not yet started are skipped
+     */
+    @SuppressWarnings("unchecked")
+    public <K, R> BatchReport<K, R> run(Collection<K> items, Task<K, R> task, Consumer<BatchResult<K, R>> listener) throws InterruptedException {
+        long start = System.nanoTime();
+        List<K> list = new ArrayList<>(items);
+        BatchResult<K, R>[] results = new BatchResult[list.size()];
+        if (list.isEmpty()) {
+            return new BatchReport<>(List.of(), Duration.ZERO);
+        }
+
+        int workers = Math.min(maxConcurrency, list.size());
+        ExecutorService pool = executor != null ? executor : Executors.newFixedThreadPool(workers);
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<RuntimeException> listenerFailure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                pool.execute(() -> {
+                    try {
+                        int index;
+                        while ((index = next.getAndIncrement()) < list.size() && !Thread.currentThread().isInterrupted()) {
+                            results[index] = process(list.get(index), task);
+                            try {
+                                listener.accept(results[index]);
+                            } catch (RuntimeException e) {
+                                // the remaining items are still processed, the failure is reported with the batch
+                                if (!listenerFailure.compareAndSet(null, e)) {
+                                    listenerFailure.get().addSuppressed(e);
+                                }
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            next.set(list.size());
+            throw e;
+        } finally {
+            if (executor == null) {
+                pool.shutdownNow();
+            }
+        }
+
+        List<BatchResult<K, R>> report = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            report.add(results[i] != null ? results[i]
+                    : new BatchResult<>(list.get(i), null, new CancellationException("The item was not processed!"), Duration.ZERO, 0));
+        }
+        return new BatchReport<>(report, Duration.ofNanos(System.nanoTime() - start), listenerFailure.get());
+    }
+
+    /**
+     * Processes a single item, waiting for the rate limiter before every attempt and retrying failed attempts if allowed.
+     */
+    private <K, R> BatchResult<K, R> process(K item, Task<K, R> task) throws InterruptedException {
+        long start = System.nanoTime();
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+            try {
+                R response = task.execute(item);
+                return new BatchResult<>(item, response, null, Duration.ofNanos(System.nanoTime() - start), attempt);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                if (attempt >= maxAttempts || !retryOn.test(e) || Thread.currentThread().isInterrupted()) {
+                    return new BatchResult<>(item, null, e, Duration.ofNanos(System.nanoTime() - start), attempt);
+                }
+            }
+            Thread.sleep(retryBackoff.multipliedBy(1L << Math.min(attempt - 1, 20)).toMillis());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The results of a batch, in the order of the submitted items.
+ *
+ * @param <K> the type of the items
+ * @param <R> the type of the responses
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@AllArgsConstructor
+public class BatchReport<K, R> {
+
+    /**
+     * The result of every item, in the order of the submitted items.
+     */
+    private final List<BatchResult<K, R>> results;
+
+    /**
+     * The time it took to process the whole batch.
+     */
+    private final Duration duration;
+
+    /**
+     * The first exception thrown by the listener of the batch, with the later ones suppressed, or {@code null} if it
+     * did not fail. The items are processed even if the listener fails, so their results are still reported.
+     */
+    private final RuntimeException listenerFailure;
+
+    /**
+     * Creates the report of a batch whose listener did not fail.
+     *
+     * @param results  the result of every item, in the order of the submitted items
+     * @param duration the time it took to process the whole batch
+     */
+    public BatchReport(List<BatchResult<K, R>> results, Duration duration) {
+        this(results, duration, null);
+    }
+
+    /**
+     * Returns the results of the items which were processed successfully.
+     *
+     * @return the successful results
+     */
+    public List<BatchResult<K, R>> getSucceeded() {
+        return results.stream().filter(BatchResult::isSuccess).toList();
+    }
+
+    /**
+     * Returns the results of the items which failed.
+     *
+     * @return the failed results
+     */
+    public List<BatchResult<K, R>> getFailed() {
+        return results.stream().filter(result -> !result.isSuccess()).toList();
+    }
+
+    /**
+     * Tells whether every item of the batch was processed successfully, and the listener did not fail.
+     *
+     * @return {@code true} if neither an item nor the listener failed
+     */
+    public boolean isSuccess() {
+        return listenerFailure == null && results.stream().allMatch(BatchResult::isSuccess);
+    }
+}
@@ -0,0 +1,76 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import hu.gigsystem.szamlazz4j.model.BaseResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The outcome of a single item of a batch.
+ *
+ * <p>An item failed if its task threw an exception, or if the response is a {@link BaseResponse}
+ * reporting an error of the Számlázz.hu API.</p>
+ *
+ * @param <K> the type of the item
+ * @param <R> the type of the response
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@AllArgsConstructor
+public class BatchResult<K, R> {
+
+    /**
+     * The item of the batch.
+     */
+    private final K item;
+
+    /**
+     * The response of the last call made for the item, {@code null} if it failed with an exception.
+     */
+    private final R response;
+
+    /**
+     * The exception the item failed with, {@code null} if a response was received.
+     */
+    private final Throwable exception;
+
+    /**
+     * The time it took to process the item.
+     */
+    private final Duration duration;
+
+    /**
+     * The number of times the item was attempted, more than one if it was retried.
+     */
+    private final int attempts;
+
+    /**
+     * Tells whether the item was processed successfully.
+     *
+     * @return {@code true} if there was no exception and the API reported success
+     */
+    public boolean isSuccess() {
+        if (exception != null) {
+            return false;
+        }
+        return !(response instanceof BaseResponse base) || base.isSuccess();
+    }
+
+    /**
+     * Returns the reason of the failure of the item.
+     *
+     * @return the exception message or the error message of the API, {@code null} if the item succeeded
+     */
+    public String getErrorMessage() {
+        if (exception != null) {
+            return exception.getMessage() != null ? exception.getMessage() : exception.getClass().getName();
+        }
+        if (response instanceof BaseResponse base && !base.isSuccess()) {
+            return base.getErrorCode() + ": " + base.getError();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,265 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.model.invoice.cancel.CancelHeader;
+import hu.gigsystem.szamlazz4j.model.invoice.cancel.CancelInvoiceRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.cancel.CancelSettings;
+import hu.gigsystem.szamlazz4j.model.invoice.query.InvoicePdfQueryRequest;
+import hu.gigsystem.szamlazz4j.request.RequestOptions;
+import hu.gigsystem.szamlazz4j.request.RequestRejectedException;
+import hu.gigsystem.szamlazz4j.request.RequestValidationException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cancels (storno) many invoices at once.
+ *
+ * <p>The cancellations are processed by a {@link BatchExecutor}, so concurrency and the request rate are bounded,
+ * and cancellations rejected by the circuit breaker or a bulkhead of the agent are retried if the executor allows it.
+ * Other failures are not retried: a cancellation which timed out may have been applied, and the Számlázz.hu API refuses
+ * to cancel an invoice twice, so a retry would fail and lose the number of the storno invoice.</p>
+ *
+ * <p>If a {@link #pdfDirectory} is set, the PDF of each storno invoice is downloaded as a raw PDF right after the
+ * cancellation (see {@link SzamlaAgent#downloadPdf(InvoicePdfQueryRequest, Path, RequestOptions)}), and written to
+ * {@code <pdfDirectory>/<storno invoice number>.pdf}.</p>
+ *
+ * <p>If a {@link #progressLog} is set, every completed cancellation is logged there with the number of its storno invoice.
+ * Running the same batch again with the same log skips the invoices already cancelled, so an interrupted refund wave
+ * can simply be restarted. The number of the storno invoice is logged as soon as the invoice is cancelled, and the
+ * cancellation is only logged as done once its PDF is written: if the run stopped in between, the next run downloads
+ * the PDF of the logged storno invoice instead of cancelling the invoice again.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * CancellationBatch batch = CancellationBatch.builder()
+ *                                            .agent(agent)
+ *                                            .executor(BatchExecutor.builder()
+ *                                                                   .maxConcurrency(4)
+ *                                                                   .rateLimiter(RateLimiter.perSecond(5))
+ *                                                                   .maxAttempts(3)
+ *                                                                   .build())
+ *                                            .pdfDirectory(Path.of("storno"))
+ *                                            .progressLog(Path.of("storno/progress.log"))
+ *                                            .build();
+ *
+ * BatchReport<CancellationBatch.Cancellation, XmlInvoiceResponse> report = batch.submitInvoiceNumbers(invoiceNumbers);
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder")
+public class CancellationBatch {
+
+    /**
+     * The agent sending the requests.
+     */
+    @NonNull
+    private final SzamlaAgent agent;
+
+    /**
+     * The executor of the batch. Defaults to 4 concurrent cancellations without rate limit and retries.
+     * Only requests rejected before being sent are retried.
+     */
+    @lombok.Builder.Default
+    private final BatchExecutor executor = BatchExecutor.builder().build();
+
+    /**
+     * The options of the requests, e.g. a deadline or priority.
+     */
+    @lombok.Builder.Default
+    private final RequestOptions options = RequestOptions.DEFAULT;
+
+    /**
+     * Optional directory to write the PDFs of the storno invoices to. {@code null} does not download them.
+     * Downloading needs a {@link hu.gigsystem.szamlazz4j.request.Requester} which exposes the response headers.
+     */
+    private final Path pdfDirectory;
+
+    /**
+     * Optional progress log file, which makes the batch resumable. {@code null} disables it.
+     */
+    private final Path progressLog;
+
+    /**
+     * Whether the storno invoices are electronic invoices.
+     */
+    private final boolean electronicInvoice;
+
+    /**
+     * Cancels the invoices with the given numbers, without sending emails.
+     *
+     * @param invoiceNumbers the numbers of the invoices to cancel; repeated numbers are cancelled once
+     * @return the result of each cancellation which was not completed by a previous run
+     * @throws IOException          if the progress log or the PDF directory cannot be opened
+     * @throws InterruptedException if the thread was interrupted while waiting for the batch
+     */
+    public BatchReport<Cancellation, XmlInvoiceResponse> submitInvoiceNumbers(Collection<String> invoiceNumbers) throws IOException, InterruptedException {
+        List<Cancellation> cancellations = new ArrayList<>(invoiceNumbers.size());
+        for (String invoiceNumber : invoiceNumbers) {
+            cancellations.add(Cancellation.builder().invoiceNumber(invoiceNumber).build());
+        }
+        return submit(cancellations);
+    }
+
+    /**
+     * Cancels the invoices.
+     *
+     * @param cancellations the cancellations; if an invoice is repeated, only its first cancellation is used
+     * @return the result of each cancellation which was not completed by a previous run, with the failures of logging
+     * the failed cancellations {@linkplain BatchReport#getListenerFailure() attached}
+     * @throws IOException          if the progress log or the PDF directory cannot be opened
+     * @throws InterruptedException if the thread was interrupted while waiting for the batch
+     */
+    public BatchReport<Cancellation, XmlInvoiceResponse> submit(Collection<Cancellation> cancellations) throws IOException, InterruptedException {
+        Map<String, Cancellation> unique = new LinkedHashMap<>();
+        for (Cancellation cancellation : cancellations) {
+            unique.putIfAbsent(cancellation.getInvoiceNumber(), cancellation);
+        }
+        if (pdfDirectory != null) {
+            Files.createDirectories(pdfDirectory);
+        }
+        BatchExecutor stornos = executor.toBuilder()
+                .retryOn(RequestRejectedException.class::isInstance)
+                .build();
+        if (progressLog == null) {
+            return stornos.run(unique.values(), cancellation -> cancel(cancellation, null));
+        }
+
+        try (ProgressLog log = new ProgressLog(progressLog)) {
+            unique.keySet().removeIf(log::isCompleted);
+            return stornos.run(unique.values(), cancellation -> cancel(cancellation, log), result -> {
+                if (!result.isSuccess()) {
+                    try {
+                        log.failed(result.getItem().getInvoiceNumber(), result.getErrorMessage());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Cancels a single invoice, writes its PDF and logs it. If a previous run cancelled the invoice but did not complete
+     * it, only the PDF of its storno invoice is downloaded.
+     *
+     * @param cancellation the cancellation
+     * @param log          the progress log, or {@code null}
+     * @return the response of the API, or {@code null} if a previous run cancelled the invoice and no PDF is written
+     * @throws Exception if the request failed or could not be validated
+     */
+    private XmlInvoiceResponse cancel(Cancellation cancellation, ProgressLog log) throws Exception {
+        String stornoNumber = log == null ? null : log.getSentDetail(cancellation.getInvoiceNumber());
+        if (stornoNumber != null) {
+            XmlInvoiceResponse response = writePdf(cancellation, stornoNumber);
+            log.done(cancellation.getInvoiceNumber(), stornoNumber);
+            return response;
+        }
+
+        CancelInvoiceRequest request = CancelInvoiceRequest.builder()
+                .settings(CancelSettings.builder()
+                        .electornicInvoice(electronicInvoice)
+                        .downloadInvoice(false)
+                        .build())
+                .header(CancelHeader.builder()
+                        .invoiceNumber(cancellation.getInvoiceNumber())
+                        .note(cancellation.getNote())
+                        .build())
+                .seller(CancelInvoiceRequest.Seller.builder()
+                        .emailSubject(cancellation.getEmailSubject())
+                        .emailText(cancellation.getEmailText())
+                        .build())
+                .customer(cancellation.getCustomerEmail() == null ? null : CancelInvoiceRequest.Customer.builder()
+                        .email(cancellation.getCustomerEmail())
+                        .build())
+                .build();
+
+        XmlInvoiceResponse response = agent.sendRequest(request, XmlInvoiceResponse.class, options);
+        if (!response.isSuccess()) {
+            return response;
+        }
+        if (log != null) {
+            log.sent(cancellation.getInvoiceNumber(), response.getInvoiceNumber());
+        }
+        writePdf(cancellation, response.getInvoiceNumber());
+        if (log != null) {
+            log.done(cancellation.getInvoiceNumber(), response.getInvoiceNumber());
+        }
+        return response;
+    }
+
+    /**
+     * Downloads the PDF of a storno invoice into the PDF directory, if it is set.
+     *
+     * @param cancellation the cancellation
+     * @param stornoNumber the number of the storno invoice
+     * @return the response of the download, or {@code null} if the PDF directory is not set
+     */
+    private XmlInvoiceResponse writePdf(Cancellation cancellation, String stornoNumber) {
+        if (pdfDirectory == null) {
+            return null;
+        }
+        try {
+            Path pdf = pdfDirectory.resolve(stornoNumber + ".pdf");
+            Files.deleteIfExists(pdf);
+            XmlInvoiceResponse response = agent.downloadPdf(InvoicePdfQueryRequest.builder().invoiceNumber(stornoNumber).build(), pdf, options);
+            if (!response.isSuccess()) {
+                throw new IOException(response.getErrorCode() + ": " + response.getError());
+            }
+            return response;
+        } catch (IOException | RequestValidationException e) {
+            // the invoice is cancelled, only its PDF is missing: must not be retried as a rejected cancellation
+            throw new UncheckedIOException("Invoice " + cancellation.getInvoiceNumber() + " was cancelled by "
+                    + stornoNumber + ", but its PDF could not be written!", e instanceof IOException io ? io : new IOException(e));
+        }
+    }
+
+    /**
+     * A single invoice to cancel, the item of the batch.
+     */
+    @Getter
+    @lombok.Builder(builderClassName = "Builder")
+    public static class Cancellation {
+
+        /**
+         * The number of the invoice to cancel.
+         */
+        @NonNull
+        private final String invoiceNumber;
+
+        /**
+         * Optional email address to send the storno invoice to. {@code null} sends no email.
+         */
+        private final String customerEmail;
+
+        /**
+         * Optional subject of the email.
+         */
+        private final String emailSubject;
+
+        /**
+         * Optional text of the email.
+         */
+        private final String emailText;
+
+        /**
+         * Optional note printed on the storno invoice.
+         */
+        private final String note;
+    }
+}
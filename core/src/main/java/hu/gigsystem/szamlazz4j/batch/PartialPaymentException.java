@@ -0,0 +1,76 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import lombok.Getter;
+
+/**
+ * Exception reported by a {@link PaymentBatch} when the payments of an invoice took several requests, and a request
+ * failed after the previous ones were registered. The invoice then carries only the first {@link #registered} payments.
+ * <p>
+ * The registered payments are remembered on the {@link PaymentBatch.InvoicePayments}, so submitting the same item
+ * again registers only the rest, without adding the registered ones twice.
+ * </p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+public class PartialPaymentException extends Exception {
+
+    /**
+     * The number of the invoice.
+     */
+    private final String invoiceNumber;
+
+    /**
+     * The number of payments registered on the invoice.
+     */
+    private final int registered;
+
+    /**
+     * The number of payments to register on the invoice.
+     */
+    private final int total;
+
+    /**
+     * The error response of the failed request, {@code null} if the request itself failed (see {@link #getCause()}).
+     */
+    private final transient XmlInvoiceResponse response;
+
+    /**
+     * Constructs a new {@code PartialPaymentException} for a request which was answered with an error.
+     *
+     * @param invoiceNumber the number of the invoice
+     * @param registered    the number of payments registered on the invoice
+     * @param total         the number of payments to register on the invoice
+     * @param response      the error response of the failed request
+     */
+    public PartialPaymentException(String invoiceNumber, int registered, int total, XmlInvoiceResponse response) {
+        super(message(invoiceNumber, registered, total, response.getErrorCode() + ": " + response.getError()));
+        this.invoiceNumber = invoiceNumber;
+        this.registered = registered;
+        this.total = total;
+        this.response = response;
+    }
+
+    /**
+     * Constructs a new {@code PartialPaymentException} for a request which failed.
+     *
+     * @param invoiceNumber the number of the invoice
+     * @param registered    the number of payments registered on the invoice
+     * @param total         the number of payments to register on the invoice
+     * @param cause         the failure of the request
+     */
+    public PartialPaymentException(String invoiceNumber, int registered, int total, Exception cause) {
+        super(message(invoiceNumber, registered, total, cause.getMessage()), cause);
+        this.invoiceNumber = invoiceNumber;
+        this.registered = registered;
+        this.total = total;
+        this.response = null;
+    }
+
+    private static String message(String invoiceNumber, int registered, int total, String reason) {
+        return "Only " + registered + " of " + total + " payments were registered on invoice " + invoiceNumber + ": " + reason;
+    }
+}
@@ -0,0 +1,253 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.model.invoice.InvoicePaymentRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.request.RequestOptions;
+import hu.gigsystem.szamlazz4j.request.RequestRejectedException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Registers the payments of a bank statement on many invoices at once.
+ *
+ * <p>The entries of the statement are grouped by invoice number. The entries of an invoice with the same date and
+ * payment type are merged into one payment (amounts summed, descriptions joined), and the payments are registered
+ * as additive, so they are added to the payments already recorded on the invoice. As a request may contain at most
+ * {@value InvoicePaymentRequest#MAX_PAYMENTS} payments, an invoice with more is registered with several requests,
+ * sent one after the other.</p>
+ *
+ * <p>If a later request of an invoice fails, the invoice is reported as failed with a {@link PartialPaymentException},
+ * as it carries only some of its payments. The registered payments are remembered on the item, so a retry, or a later
+ * submission of the same item, registers only the rest.</p>
+ *
+ * <p>The invoices are processed by a {@link BatchExecutor}, so concurrency and the request rate are bounded,
+ * and every invoice gets its own result in the returned {@link BatchReport}.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * PaymentBatch batch = PaymentBatch.builder()
+ *                                  .agent(agent)
+ *                                  .executor(BatchExecutor.builder().maxConcurrency(4).rateLimiter(RateLimiter.perSecond(5)).build())
+ *                                  .build();
+ *
+ * BatchReport<PaymentBatch.InvoicePayments, XmlInvoiceResponse> report = batch.submit(statementRows.stream()
+ *         .map(row -> PaymentBatch.Entry.builder()
+ *                 .invoiceNumber(row.matchedInvoice())
+ *                 .date(row.valueDate())
+ *                 .paymentType("átutalás")
+ *                 .amount(row.amount())
+ *                 .description(row.reference())
+ *                 .build()));
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder")
+public class PaymentBatch {
+
+    /**
+     * The agent sending the requests.
+     */
+    @NonNull
+    private final SzamlaAgent agent;
+
+    /**
+     * The executor of the batch. Defaults to 4 concurrent invoices without rate limit.
+     * As additive payments are not idempotent, only requests rejected before being sent are retried, continuing
+     * with the first payment which was not registered.
+     */
+    @lombok.Builder.Default
+    private final BatchExecutor executor = BatchExecutor.builder().build();
+
+    /**
+     * The options of the requests, e.g. a deadline or priority.
+     */
+    @lombok.Builder.Default
+    private final RequestOptions options = RequestOptions.DEFAULT;
+
+    /**
+     * Registers the payments of the statement.
+     *
+     * @param statement the matched entries of the bank statement
+     * @return the result of each invoice, in the order of the first entry of the invoice in the statement
+     * @throws InterruptedException if the thread was interrupted while waiting for the batch
+     */
+    public BatchReport<InvoicePayments, XmlInvoiceResponse> submit(Stream<Entry> statement) throws InterruptedException {
+        BatchExecutor registrations = executor.toBuilder()
+                .retryOn(PaymentBatch::isRejected)
+                .build();
+        return registrations.run(group(statement), this::register);
+    }
+
+    /**
+     * Tells whether a request was rejected before being sent, so it can be retried.
+     */
+    private static boolean isRejected(Throwable e) {
+        return e instanceof RequestRejectedException
+                || (e instanceof PartialPaymentException && e.getCause() instanceof RequestRejectedException);
+    }
+
+    /**
+     * Groups the entries by invoice and merges the entries of an invoice with the same date and payment type.
+     *
+     * @param statement the entries of the bank statement
+     * @return the payments of each invoice, in the order of the first entry of the invoice
+     */
+    public static List<InvoicePayments> group(Stream<Entry> statement) {
+        Map<String, Map<List<Object>, Entry>> invoices = new LinkedHashMap<>();
+        statement.forEach(entry -> invoices
+                .computeIfAbsent(Objects.requireNonNull(entry.getInvoiceNumber(), "invoiceNumber"), number -> new LinkedHashMap<>())
+                .merge(Arrays.asList(entry.getDate(), entry.getPaymentType()), entry, Entry::merge));
+
+        List<InvoicePayments> grouped = new ArrayList<>(invoices.size());
+        invoices.forEach((invoiceNumber, entries) -> {
+            List<InvoicePaymentRequest.Payment> payments = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) {
+                payments.add(InvoicePaymentRequest.Payment.builder()
+                        .paymentDate(entry.getDate())
+                        .paymentType(entry.getPaymentType())
+                        .amount(entry.getAmount())
+                        .description(entry.getDescription())
+                        .build());
+            }
+            grouped.add(new InvoicePayments(invoiceNumber, payments));
+        });
+        return grouped;
+    }
+
+    /**
+     * Registers the payments of a single invoice which are not registered yet, with as many requests as needed.
+     *
+     * @param invoice the payments of the invoice
+     * @return the response of the last request, or of the first one which failed if no payment was registered
+     * @throws PartialPaymentException if a request failed after payments of the invoice were registered
+     * @throws Exception               if the first request failed
+     */
+    private XmlInvoiceResponse register(InvoicePayments invoice) throws Exception {
+        List<InvoicePaymentRequest.Payment> payments = invoice.getPayments();
+        XmlInvoiceResponse response = null;
+        while (invoice.registered < payments.size()) {
+            int to = Math.min(payments.size(), invoice.registered + InvoicePaymentRequest.MAX_PAYMENTS);
+            InvoicePaymentRequest request = InvoicePaymentRequest.builder()
+                    .settings(InvoicePaymentRequest.Settings.builder()
+                            .invoiceNumber(invoice.getInvoiceNumber())
+                            .additive(true)
+                            .build())
+                    .payments(payments.subList(invoice.registered, to))
+                    .build();
+            try {
+                response = agent.sendRequest(request, XmlInvoiceResponse.class, options);
+            } catch (Exception e) {
+                if (invoice.registered > 0) {
+                    throw new PartialPaymentException(invoice.getInvoiceNumber(), invoice.registered, payments.size(), e);
+                }
+                throw e;
+            }
+            if (!response.isSuccess()) {
+                if (invoice.registered > 0) {
+                    throw new PartialPaymentException(invoice.getInvoiceNumber(), invoice.registered, payments.size(), response);
+                }
+                return response;
+            }
+            invoice.registered = to;
+        }
+        return response;
+    }
+
+    /**
+     * A payment of the bank statement, already matched to an invoice.
+     */
+    @Getter
+    @lombok.Builder(builderClassName = "Builder")
+    public static class Entry {
+
+        /**
+         * The number of the invoice the payment belongs to.
+         */
+        private final String invoiceNumber;
+
+        /**
+         * The value date of the payment.
+         */
+        private final LocalDate date;
+
+        /**
+         * The type (legal basis) of the payment, e.g. {@code átutalás}.
+         */
+        private final String paymentType;
+
+        /**
+         * The amount of the payment.
+         */
+        private final BigDecimal amount;
+
+        /**
+         * Optional description, e.g. the reference of the transfer.
+         */
+        private final String description;
+
+        private static Entry merge(Entry first, Entry second) {
+            String description = first.description == null ? second.description
+                    : second.description == null ? first.description
+                    : first.description + "; " + second.description;
+            return new Entry(first.invoiceNumber, first.date, first.paymentType, first.amount.add(second.amount), description);
+        }
+    }
+
+    /**
+     * The merged payments of an invoice, the item of the batch.
+     */
+    @Getter
+    public static class InvoicePayments {
+
+        /**
+         * The number of the invoice.
+         */
+        private final String invoiceNumber;
+
+        /**
+         * The merged payments to register.
+         */
+        private final List<InvoicePaymentRequest.Payment> payments;
+
+        /**
+         * The number of payments already registered, from the start of {@link #payments}.
+         */
+        private int registered;
+
+        /**
+         * Creates the payments of an invoice, none of them registered yet.
+         *
+         * @param invoiceNumber the number of the invoice
+         * @param payments      the merged payments to register
+         */
+        public InvoicePayments(String invoiceNumber, List<InvoicePaymentRequest.Payment> payments) {
+            this.invoiceNumber = invoiceNumber;
+            this.payments = payments;
+        }
+
+        /**
+         * Returns the sum of the payments.
+         *
+         * @return the total amount registered on the invoice
+         */
+        public BigDecimal getTotal() {
+            return payments.stream().map(InvoicePaymentRequest.Payment::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+    }
+}
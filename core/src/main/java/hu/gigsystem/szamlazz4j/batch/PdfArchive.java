@@ -0,0 +1,272 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.model.invoice.query.InvoicePdfQueryRequest;
+import hu.gigsystem.szamlazz4j.request.RequestOptions;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+
+/**
+ * Downloads the PDFs of many invoices into an archive directory, e.g. for a nightly compliance archive.
+ *
+ * <p>The downloads are processed by a {@link BatchExecutor}, so concurrency and the request rate are bounded, and
+ * failed transport calls are retried if the executor allows it. Every PDF is downloaded as the raw response body
+ * ({@link SzamlaAgent#downloadPdf(InvoicePdfQueryRequest, OutputStream, RequestOptions)}) and streamed through a
+ * {@link FileChannel} into a temporary file, hashing it on the way. The file is forced to disk and moved to its place
+ * atomically, so the archive never contains a partial PDF.</p>
+ *
+ * <p>The files are spread over {@code 16^shardLength} directories by the hash of the invoice number, to keep the
+ * directories small: {@code <directory>/<shard>/<invoice number>.pdf}. The characters of the invoice number other than
+ * {@code A-Z a-z 0-9 . _ -} are percent-encoded in the file name (e.g. {@code A/1} as {@code A%2F1}), so different
+ * invoice numbers never share a file. Next to every PDF, its SHA-256 checksum is written
+ * to {@code <invoice number>.pdf.sha256} in the format of {@code sha256sum}. Invoices whose PDF is already archived
+ * with a matching checksum are skipped, so the same archive can be run again every night with all invoice numbers,
+ * and damaged files are downloaded again.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * PdfArchive archive = PdfArchive.builder()
+ *                                .agent(agent)
+ *                                .directory(Path.of("/var/archive/invoices"))
+ *                                .executor(BatchExecutor.builder()
+ *                                                       .maxConcurrency(8)
+ *                                                       .maxAttempts(3)
+ *                                                       .build())
+ *                                .build();
+ *
+ * PdfArchiveReport report = archive.archive(invoiceNumbers);
+ * System.out.println(report.getSummary());
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder")
+public class PdfArchive {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final HexFormat PERCENT = HexFormat.of().withUpperCase();
+
+    /**
+     * The agent downloading the PDFs.
+     */
+    @NonNull
+    private final SzamlaAgent agent;
+
+    /**
+     * The root directory of the archive, created if it does not exist.
+     */
+    @NonNull
+    private final Path directory;
+
+    /**
+     * The executor of the batch. Defaults to 4 concurrent downloads without rate limit and retries.
+     */
+    @lombok.Builder.Default
+    private final BatchExecutor executor = BatchExecutor.builder().build();
+
+    /**
+     * The options of the requests, e.g. a deadline or priority.
+     */
+    @lombok.Builder.Default
+    private final RequestOptions options = RequestOptions.DEFAULT;
+
+    /**
+     * The number of hexadecimal digits of the shard directory names, {@code 0} puts every file into the root directory.
+     */
+    @lombok.Builder.Default
+    private final int shardLength = 2;
+
+    /**
+     * Whether an archived PDF is hashed again before it is skipped. If {@code false}, a PDF with a checksum file is
+     * skipped without reading it, which is faster on large archives but does not detect damaged files.
+     */
+    @lombok.Builder.Default
+    private final boolean verifyExisting = true;
+
+    /**
+     * Downloads the PDFs of the given invoices which are not archived yet.
+     *
+     * @param invoiceNumbers the numbers of the invoices; repeated numbers are archived once
+     * @return the result of each invoice, with the throughput of the batch
+     * @throws IOException          if the archive directory cannot be created
+     * @throws InterruptedException if the thread was interrupted while waiting for the batch
+     */
+    public PdfArchiveReport archive(Collection<String> invoiceNumbers) throws IOException, InterruptedException {
+        Files.createDirectories(directory);
+        return new PdfArchiveReport(executor.run(new LinkedHashSet<>(invoiceNumbers), this::archive));
+    }
+
+    /**
+     * Returns the path the PDF of an invoice is archived to.
+     *
+     * @param invoiceNumber the number of the invoice
+     * @return the path of the PDF, which may not exist yet
+     */
+    public Path pathOf(@NonNull String invoiceNumber) {
+        String fileName = encode(invoiceNumber) + ".pdf";
+        if (shardLength <= 0) {
+            return directory.resolve(fileName);
+        }
+        String shard = HEX.formatHex(sha256().digest(invoiceNumber.getBytes(StandardCharsets.UTF_8))).substring(0, Math.min(shardLength, 64));
+        return directory.resolve(shard).resolve(fileName);
+    }
+
+    /**
+     * Percent-encodes the UTF-8 bytes of an invoice number which are not safe in a file name, which keeps the file names
+     * of different invoice numbers different.
+     */
+    private static String encode(String invoiceNumber) {
+        StringBuilder encoded = new StringBuilder(invoiceNumber.length() + 8);
+        for (byte b : invoiceNumber.getBytes(StandardCharsets.UTF_8)) {
+            if ((b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z') || (b >= '0' && b <= '9') || b == '.' || b == '_' || b == '-') {
+                encoded.append((char) b);
+            } else {
+                encoded.append('%').append(PERCENT.toHexDigits(b));
+            }
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Archives the PDF of a single invoice, unless it is archived already.
+     *
+     * @param invoiceNumber the number of the invoice
+     * @return the archived PDF
+     * @throws IOException           if the download fails or the PDF cannot be written
+     * @throws IllegalStateException if the API reported an error, which is not retried
+     * @throws Exception             if the request could not be validated
+     */
+    private ArchivedPdf archive(String invoiceNumber) throws Exception {
+        Path target = pathOf(invoiceNumber);
+        Path checksumFile = target.resolveSibling(target.getFileName() + ".sha256");
+        String archived = readChecksum(checksumFile);
+        if (archived != null && Files.exists(target) && (!verifyExisting || archived.equals(hash(target)))) {
+            return new ArchivedPdf(invoiceNumber, target, archived, Files.size(target), true);
+        }
+
+        Files.createDirectories(target.getParent());
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        MessageDigest digest = sha256();
+        XmlInvoiceResponse response;
+        long size;
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new DigestOutputStream(Channels.newOutputStream(channel), digest);
+            response = agent.downloadPdf(InvoicePdfQueryRequest.builder().invoiceNumber(invoiceNumber).build(), out, options);
+            channel.force(true);
+            size = channel.size();
+        } catch (Exception e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        if (!response.isSuccess()) {
+            Files.deleteIfExists(part);
+            throw new IllegalStateException("PDF of invoice " + invoiceNumber + " cannot be downloaded: " + response.getErrorCode() + ": " + response.getError());
+        }
+
+        String checksum = HEX.formatHex(digest.digest());
+        Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        writeChecksum(checksumFile, checksum, target.getFileName().toString());
+        return new ArchivedPdf(invoiceNumber, target, checksum, size, false);
+    }
+
+    /**
+     * Reads the checksum of an archived PDF, {@code null} if it has none.
+     */
+    private static String readChecksum(Path checksumFile) throws IOException {
+        if (!Files.exists(checksumFile)) {
+            return null;
+        }
+        String line = Files.readString(checksumFile, StandardCharsets.US_ASCII).trim();
+        int end = line.indexOf(' ');
+        return end > 0 ? line.substring(0, end) : line;
+    }
+
+    /**
+     * Writes the checksum file next to the PDF, through a temporary file moved into place.
+     */
+    private static void writeChecksum(Path checksumFile, String checksum, String fileName) throws IOException {
+        Path part = checksumFile.resolveSibling(checksumFile.getFileName() + ".part");
+        Files.writeString(part, checksum + "  " + fileName + "\n", StandardCharsets.US_ASCII);
+        Files.move(part, checksumFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Hashes an archived PDF through a {@link FileChannel}.
+     */
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HEX.formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available!", e);
+        }
+    }
+
+    /**
+     * A PDF in the archive, the response of an item of the batch.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ArchivedPdf {
+
+        /**
+         * The number of the invoice.
+         */
+        private final String invoiceNumber;
+
+        /**
+         * The path of the PDF.
+         */
+        private final Path path;
+
+        /**
+         * The SHA-256 checksum of the PDF, in hexadecimal.
+         */
+        private final String sha256;
+
+        /**
+         * The size of the PDF in bytes.
+         */
+        private final long size;
+
+        /**
+         * Whether the PDF was archived already, and was not downloaded again.
+         */
+        private final boolean skipped;
+    }
+}
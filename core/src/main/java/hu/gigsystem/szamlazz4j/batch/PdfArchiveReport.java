@@ -0,0 +1,85 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import java.util.Locale;
+
+/**
+ * The report of a {@link PdfArchive} run: the result of every invoice, and the throughput of the downloads.
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public class PdfArchiveReport extends BatchReport<String, PdfArchive.ArchivedPdf> {
+
+    /**
+     * Wraps the report of the batch.
+     *
+     * @param report the report of the batch
+     */
+    public PdfArchiveReport(BatchReport<String, PdfArchive.ArchivedPdf> report) {
+        super(report.getResults(), report.getDuration(), report.getListenerFailure());
+    }
+
+    /**
+     * Returns the number of PDFs downloaded by this run.
+     *
+     * @return the number of downloaded PDFs
+     */
+    public long getDownloaded() {
+        return getSucceeded().stream().filter(result -> !result.getResponse().isSkipped()).count();
+    }
+
+    /**
+     * Returns the number of PDFs skipped as they were archived already.
+     *
+     * @return the number of skipped PDFs
+     */
+    public long getSkipped() {
+        return getSucceeded().stream().filter(result -> result.getResponse().isSkipped()).count();
+    }
+
+    /**
+     * Returns the number of bytes written by this run.
+     *
+     * @return the total size of the downloaded PDFs
+     */
+    public long getBytesWritten() {
+        return getSucceeded().stream()
+                .map(BatchResult::getResponse)
+                .filter(pdf -> !pdf.isSkipped())
+                .mapToLong(PdfArchive.ArchivedPdf::getSize)
+                .sum();
+    }
+
+    /**
+     * Returns the number of PDFs downloaded per second, over the whole run.
+     *
+     * @return the download rate
+     */
+    public double getFilesPerSecond() {
+        return getDownloaded() / seconds();
+    }
+
+    /**
+     * Returns the number of bytes written per second, over the whole run.
+     *
+     * @return the write rate
+     */
+    public double getBytesPerSecond() {
+        return getBytesWritten() / seconds();
+    }
+
+    /**
+     * Returns a one line summary of the run, e.g. for a log.
+     *
+     * @return the summary
+     */
+    public String getSummary() {
+        return String.format(Locale.ROOT, "%d downloaded, %d skipped, %d failed in %.1f s (%.1f PDF/s, %.2f MB/s)",
+                getDownloaded(), getSkipped(), getFailed().size(), seconds(), getFilesPerSecond(), getBytesPerSecond() / (1024 * 1024));
+    }
+
+    private double seconds() {
+        return Math.max(getDuration().toNanos(), 1) / 1e9;
+    }
+}
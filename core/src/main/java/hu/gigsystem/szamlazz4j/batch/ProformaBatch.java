@@ -0,0 +1,187 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.model.BaseResponse;
+import hu.gigsystem.szamlazz4j.model.invoice.ProformaDeleteRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceRequest;
+import hu.gigsystem.szamlazz4j.request.RequestOptions;
+import hu.gigsystem.szamlazz4j.request.RequestRejectedException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Converts proforma invoices (díjbekérő) to final invoices, or deletes them, in batches.
+ *
+ * <p>Proformas are identified by their number or by their order number. Repeated proformas are processed once,
+ * and the batch is run by a {@link BatchExecutor}, so concurrency and the request rate are bounded and every
+ * proforma gets its own result.</p>
+ *
+ * <p>A conversion creates a new invoice, so it is retried only if the agent rejected it without sending it
+ * (see {@link RequestRejectedException}), regardless of the retry policy of the executor.
+ * Deletions are retried according to the executor.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ProformaBatch batch = ProformaBatch.builder()
+ *                                    .agent(agent)
+ *                                    .executor(BatchExecutor.builder().maxConcurrency(4).rateLimiter(RateLimiter.perSecond(5)).build())
+ *                                    .build();
+ *
+ * BatchReport<ProformaBatch.Proforma, XmlInvoiceResponse> converted = batch.convert(paidProformas, proforma ->
+ *         invoiceFor(proforma.getNumber()));   // an InvoiceRequest with header.proformaNumber set
+ *
+ * BatchReport<ProformaBatch.Proforma, BaseResponse.SimpleResponse> deleted = batch.delete(expiredProformas);
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder")
+public class ProformaBatch {
+
+    /**
+     * The agent sending the requests.
+     */
+    @NonNull
+    private final SzamlaAgent agent;
+
+    /**
+     * The executor of the batch. Defaults to 4 concurrent proformas without rate limit and retries.
+     */
+    @lombok.Builder.Default
+    private final BatchExecutor executor = BatchExecutor.builder().build();
+
+    /**
+     * The options of the requests, e.g. a deadline or priority.
+     */
+    @lombok.Builder.Default
+    private final RequestOptions options = RequestOptions.DEFAULT;
+
+    /**
+     * Converts the proformas to final invoices.
+     *
+     * <p>The invoice of each proforma is built by the factory, which must set the number of the proforma as the
+     * {@link hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceHeader#getProformaNumber() proformaNumber} of the header.
+     * A proforma referenced by its order number must be resolved to its number by the factory.</p>
+     *
+     * @param proformas the proformas to convert; repeated proformas are converted once
+     * @param factory   builds the invoice request of a proforma
+     * @return the result of each proforma, in the order of the first occurrence
+     * @throws InterruptedException if the thread was interrupted while waiting for the batch
+     */
+    public BatchReport<Proforma, XmlInvoiceResponse> convert(Collection<Proforma> proformas, Function<Proforma, InvoiceRequest> factory) throws InterruptedException {
+        BatchExecutor conversions = executor.toBuilder()
+                .retryOn(RequestRejectedException.class::isInstance)
+                .build();
+        return conversions.run(new LinkedHashSet<>(proformas), proforma -> {
+            InvoiceRequest request = factory.apply(proforma);
+            String proformaNumber = request.getHeader() == null ? null : request.getHeader().getProformaNumber();
+            if (proformaNumber == null || (proforma.getNumber() != null && !proforma.getNumber().equals(proformaNumber))) {
+                throw new IllegalArgumentException("The invoice of " + proforma + " must have the proforma number set in its header!");
+            }
+            return agent.sendRequest(request, XmlInvoiceResponse.class, options);
+        });
+    }
+
+    /**
+     * Deletes the proformas.
+     *
+     * @param proformas the proformas to delete; repeated proformas are deleted once
+     * @return the result of each proforma, in the order of the first occurrence
+     * @throws InterruptedException if the thread was interrupted while waiting for the batch
+     */
+    public BatchReport<Proforma, BaseResponse.SimpleResponse> delete(Collection<Proforma> proformas) throws InterruptedException {
+        return executor.run(new LinkedHashSet<>(proformas), proforma -> agent.sendRequest(ProformaDeleteRequest.builder()
+                .settings(ProformaDeleteRequest.Settings.builder().build())
+                .header(ProformaDeleteRequest.Header.builder()
+                        .invoiceNumber(proforma.getNumber())
+                        .orderNumber(proforma.getOrderNumber())
+                        .build())
+                .build(), BaseResponse.SimpleResponse.class, options));
+    }
+
+    /**
+     * Deletes the proformas with the given numbers.
+     *
+     * @param numbers the numbers of the proformas to delete
+     * @return the result of each proforma, in the order of the first occurrence
+     * @throws InterruptedException if the thread was interrupted while waiting for the batch
+     */
+    public BatchReport<Proforma, BaseResponse.SimpleResponse> deleteByNumbers(Collection<String> numbers) throws InterruptedException {
+        List<Proforma> proformas = new ArrayList<>(numbers.size());
+        for (String number : numbers) {
+            proformas.add(Proforma.ofNumber(number));
+        }
+        return delete(proformas);
+    }
+
+    /**
+     * Deletes the proformas of the given orders.
+     *
+     * @param orderNumbers the order numbers of the proformas to delete
+     * @return the result of each proforma, in the order of the first occurrence
+     * @throws InterruptedException if the thread was interrupted while waiting for the batch
+     */
+    public BatchReport<Proforma, BaseResponse.SimpleResponse> deleteByOrderNumbers(Collection<String> orderNumbers) throws InterruptedException {
+        List<Proforma> proformas = new ArrayList<>(orderNumbers.size());
+        for (String orderNumber : orderNumbers) {
+            proformas.add(Proforma.ofOrderNumber(orderNumber));
+        }
+        return delete(proformas);
+    }
+
+    /**
+     * Reference to a proforma by its number or by its order number, the item of the batch.
+     * Two references are equal if they have the same number and order number.
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Proforma {
+
+        /**
+         * The number of the proforma, {@code null} if it is referenced by its order number.
+         */
+        private final String number;
+
+        /**
+         * The order number of the proforma, {@code null} if it is referenced by its number.
+         */
+        private final String orderNumber;
+
+        /**
+         * References a proforma by its number.
+         *
+         * @param number the number of the proforma
+         * @return the reference
+         */
+        public static Proforma ofNumber(@NonNull String number) {
+            return new Proforma(number, null);
+        }
+
+        /**
+         * References a proforma by its order number.
+         *
+         * @param orderNumber the order number of the proforma
+         * @return the reference
+         */
+        public static Proforma ofOrderNumber(@NonNull String orderNumber) {
+            return new Proforma(null, orderNumber);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * An append-only, line based log of the items of a batch, which allows resuming an interrupted batch.
+ *
+ * <p>Every line is {@code STATUS<TAB>key<TAB>detail}, written and flushed as soon as the item completes.
+ * When the log is opened again, the keys with a {@link #DONE} line are known to be completed, so a restarted batch
+ * can skip them instead of repeating side effects like a second cancellation. Items with only {@link #FAILED} lines
+ * are attempted again. An item whose side effect happened but whose follow-up steps did not complete has a {@link #SENT}
+ * line, so a restarted batch can finish it without repeating the side effect.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public class ProgressLog implements Closeable {
+
+    /**
+     * Status of a completed item.
+     */
+    public static final String DONE = "DONE";
+
+    /**
+     * Status of an item whose side effect happened, but which is not completed yet.
+     */
+    public static final String SENT = "SENT";
+
+    /**
+     * Status of a failed item.
+     */
+    public static final String FAILED = "FAILED";
+
+    private final Map<String, String> completed = new ConcurrentHashMap<>();
+    private final Map<String, String> sent = new ConcurrentHashMap<>();
+    private final BufferedWriter writer;
+
+    /**
+     * Opens the log for appending, reading the items completed by previous runs.
+     *
+     * @param file the log file, created if it does not exist
+     * @throws IOException if the file cannot be read or opened
+     */
+    public ProgressLog(Path file) throws IOException {
+        if (Files.exists(file)) {
+            try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+                lines.forEach(line -> {
+                    String[] fields = line.split("\t", 3);
+                    if (fields.length >= 2 && DONE.equals(fields[0])) {
+                        completed.put(fields[1], fields.length == 3 ? fields[2] : "");
+                    } else if (fields.length >= 2 && SENT.equals(fields[0])) {
+                        sent.put(fields[1], fields.length == 3 ? fields[2] : "");
+                    }
+                });
+            }
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Tells whether the item was completed by this or a previous run.
+     *
+     * @param key the key of the item
+     * @return {@code true} if there is a {@link #DONE} line for the item
+     */
+    public boolean isCompleted(String key) {
+        return completed.containsKey(key);
+    }
+
+    /**
+     * Returns the detail logged with the completion of the item, e.g. the number of the created document.
+     *
+     * @param key the key of the item
+     * @return the detail, or {@code null} if the item is not completed
+     */
+    public String getDetail(String key) {
+        return completed.get(key);
+    }
+
+    /**
+     * Returns the detail logged when the side effect of an item happened, if the item is not completed yet.
+     *
+     * @param key the key of the item
+     * @return the detail, or {@code null} if there is no {@link #SENT} line for the item or it is completed
+     */
+    public String getSentDetail(String key) {
+        return completed.containsKey(key) ? null : sent.get(key);
+    }
+
+    /**
+     * Logs that the side effect of an item happened, before its follow-up steps.
+     *
+     * @param key    the key of the item
+     * @param detail optional detail, e.g. the number of the created document
+     * @throws IOException if the line cannot be written
+     */
+    public void sent(String key, String detail) throws IOException {
+        write(SENT, key, detail);
+        sent.put(key, detail == null ? "" : detail);
+    }
+
+    /**
+     * Logs the completion of an item.
+     *
+     * @param key    the key of the item
+     * @param detail optional detail, e.g. the number of the created document
+     * @throws IOException if the line cannot be written
+     */
+    public void done(String key, String detail) throws IOException {
+        write(DONE, key, detail);
+        completed.put(key, detail == null ? "" : detail);
+    }
+
+    /**
+     * Logs the failure of an item.
+     *
+     * @param key     the key of the item
+     * @param message the reason of the failure
+     * @throws IOException if the line cannot be written
+     */
+    public void failed(String key, String message) throws IOException {
+        write(FAILED, key, message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+
+    private void write(String status, String key, String detail) throws IOException {
+        String line = status + '\t' + key + '\t' + (detail == null ? "" : detail.replace('\t', ' ').replace('\n', ' ').replace('\r', ' '));
+        synchronized (writer) {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        }
+    }
+}
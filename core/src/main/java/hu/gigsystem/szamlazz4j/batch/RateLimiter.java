@@ -0,0 +1,61 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A thread-safe limiter which spreads calls evenly in time, at most one call every {@code 1 / permitsPerSecond} seconds.
+ *
+ * <p>Permits are handed out in reservation order without bursts, so a batch started after an idle period
+ * does not hit the Számlázz.hu API with a spike of requests.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextFree;
+
+    /**
+     * Constructs a new {@code RateLimiter}.
+     *
+     * @param permitsPerSecond the maximum number of calls per second
+     * @throws IllegalArgumentException if the rate is not positive
+     */
+    public RateLimiter(double permitsPerSecond) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive!");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.nextFree = System.nanoTime();
+    }
+
+    /**
+     * Creates a limiter allowing the given number of calls per second.
+     *
+     * @param permitsPerSecond the maximum number of calls per second
+     * @return the rate limiter
+     */
+    public static RateLimiter perSecond(double permitsPerSecond) {
+        return new RateLimiter(permitsPerSecond);
+    }
+
+    /**
+     * Waits until the next call is allowed.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFree);
+            nextFree = slot + intervalNanos;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
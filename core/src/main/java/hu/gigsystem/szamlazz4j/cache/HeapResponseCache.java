@@ -0,0 +1,85 @@
+package hu.gigsystem.szamlazz4j.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * A {@link ResponseCache} keeping the parsed responses on the heap, in a Caffeine cache bounded by the number of
+ * responses. A hit returns the cached object itself, but the objects, with the Base64 PDFs of the invoices, are much
+ * larger than their XML, so a heap cache should be small and short-lived. Longer-lived responses are better kept in an
+ * {@link OffHeapResponseCache} behind it.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ResponseCache cache = HeapResponseCache.builder()
+ *                                        .maximumSize(200)
+ *                                        .expireAfterWrite(Duration.ofMinutes(1))
+ *                                        .build();
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+public class HeapResponseCache implements ResponseCache {
+
+    /**
+     * The maximum number of responses, {@code 1000} by default.
+     */
+    private final long maximumSize;
+
+    /**
+     * The time a response is kept for, 5 minutes by default.
+     */
+    private final Duration expireAfterWrite;
+
+    @Getter(AccessLevel.NONE)
+    private final Cache<Object, Object> cache;
+
+    /**
+     * Creates a heap cache.
+     *
+     * @param maximumSize      the maximum number of responses, {@code 1000} if not positive
+     * @param expireAfterWrite the time a response is kept for, 5 minutes if {@code null}
+     */
+    @Builder(builderClassName = "Builder")
+    protected HeapResponseCache(long maximumSize, Duration expireAfterWrite) {
+        this.maximumSize = maximumSize > 0 ? maximumSize : 1000;
+        this.expireAfterWrite = expireAfterWrite == null ? Duration.ofMinutes(5) : expireAfterWrite;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(this.maximumSize)
+                .expireAfterWrite(this.expireAfterWrite)
+                .build();
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type, Parser<T> parser) {
+        Object response = cache.getIfPresent(key);
+        return type.isInstance(response) ? type.cast(response) : null;
+    }
+
+    @Override
+    public void put(Object key, Object response, String xml) {
+        cache.put(key, response);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the approximate number of cached responses.
+     *
+     * @return the number of responses
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,192 @@
+package hu.gigsystem.szamlazz4j.cache;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link ResponseCache} keeping the raw XML of the responses outside of the heap, in a direct {@link ByteBuffer} or
+ * in a memory-mapped file, and parsing it again on a hit. The XML of a response is a fraction of the size of the parsed
+ * objects and is invisible to the garbage collector, so hours of invoice lookups can be cached without GC pressure.
+ * Responses read from the headers of a call have no XML and are not kept.
+ *
+ * <p>The buffer is a ring: the XML of the responses is appended to it, and once it is full, the oldest responses are
+ * overwritten. Only the index of the responses (their key, position, length and expiry) is kept on the heap. A response
+ * larger than the buffer is not cached.</p>
+ *
+ * <p>A file-backed cache lets the operating system page the XML out, so it can be larger than the memory of the
+ * process, but it does not survive a restart: the index is in memory, and the file is overwritten by the next cache.
+ * A direct buffer counts against {@code -XX:MaxDirectMemorySize}.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ResponseCache cache = OffHeapResponseCache.builder()
+ *                                           .capacity(256 * 1024 * 1024)
+ *                                           .expireAfterWrite(Duration.ofHours(8))
+ *                                           .file(Path.of("/var/cache/szamlazz4j/responses.bin"))
+ *                                           .build();
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+public class OffHeapResponseCache implements ResponseCache {
+
+    /**
+     * The size of the buffer in bytes, 64 MiB by default.
+     */
+    private final int capacity;
+
+    /**
+     * The time a response is kept for, 12 hours by default.
+     */
+    private final Duration expireAfterWrite;
+
+    /**
+     * The file the buffer is mapped from, {@code null} for a direct buffer.
+     */
+    private final Path file;
+
+    @Getter(AccessLevel.NONE)
+    private final ByteBuffer buffer;
+
+    /**
+     * The responses in the order they were written, so the overwritten and expired ones are always at its head.
+     */
+    @Getter(AccessLevel.NONE)
+    private final LinkedHashMap<Object, Slot> index = new LinkedHashMap<>();
+
+    /**
+     * The position the next response is written at, growing past the capacity as the buffer wraps around.
+     */
+    @Getter(AccessLevel.NONE)
+    private long position;
+
+    /**
+     * Creates an off-heap cache, allocating or mapping its buffer.
+     *
+     * @param capacity         the size of the buffer in bytes, 64 MiB if not positive
+     * @param expireAfterWrite the time a response is kept for, 12 hours if {@code null}
+     * @param file             the file to map the buffer from, created if missing, or {@code null} for a direct buffer
+     * @throws UncheckedIOException if the file cannot be mapped
+     */
+    @Builder(builderClassName = "Builder")
+    protected OffHeapResponseCache(int capacity, Duration expireAfterWrite, Path file) {
+        this.capacity = capacity > 0 ? capacity : 64 * 1024 * 1024;
+        this.expireAfterWrite = expireAfterWrite == null ? Duration.ofHours(12) : expireAfterWrite;
+        this.file = file;
+        if (file == null) {
+            this.buffer = ByteBuffer.allocateDirect(this.capacity);
+        } else {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.capacity);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not map the response cache file " + file + "!", e);
+            }
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type, Parser<T> parser) throws IOException {
+        byte[] xml;
+        synchronized (this) {
+            Slot slot = index.get(key);
+            if (slot == null) {
+                return null;
+            }
+            if (!isLive(slot, System.nanoTime())) {
+                index.remove(key);
+                return null;
+            }
+            xml = new byte[slot.length];
+            buffer.get((int) (slot.position % capacity), xml);
+        }
+        Object response = parser.parse(new String(xml, StandardCharsets.UTF_8));
+        return type.isInstance(response) ? type.cast(response) : null;
+    }
+
+    @Override
+    public void put(Object key, Object response, String xml) {
+        if (xml == null) {
+            return;
+        }
+        byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > capacity) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            long offset = position % capacity;
+            if (offset + bytes.length > capacity) {
+                // a response is never split, the rest of the buffer is skipped
+                position += capacity - offset;
+                offset = 0;
+            }
+            buffer.put((int) offset, bytes);
+            index.remove(key);
+            index.put(key, new Slot(position, bytes.length, now + expireAfterWrite.toNanos()));
+            position += bytes.length;
+            evict(now);
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        index.clear();
+    }
+
+    /**
+     * Returns the number of cached responses, including the expired ones not evicted yet.
+     *
+     * @return the number of responses
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Removes the overwritten and expired responses from the head of the index.
+     */
+    private void evict(long now) {
+        Iterator<Map.Entry<Object, Slot>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext() && !isLive(iterator.next().getValue(), now)) {
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Tells whether a response is neither overwritten by a later one nor expired.
+     */
+    private boolean isLive(Slot slot, long now) {
+        return position - slot.position <= capacity && now - slot.expiresAt < 0;
+    }
+
+    /**
+     * The place of a response in the buffer.
+     */
+    private static final class Slot {
+        private final long position;
+        private final int length;
+        private final long expiresAt;
+
+        private Slot(long position, int length, long expiresAt) {
+            this.position = position;
+            this.length = length;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
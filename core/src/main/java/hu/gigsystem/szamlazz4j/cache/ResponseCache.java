@@ -0,0 +1,68 @@
+package hu.gigsystem.szamlazz4j.cache;
+
+import java.io.IOException;
+
+/**
+ * The cache of the responses of a {@link hu.gigsystem.szamlazz4j.SzamlaAgent}, looked up before a request is sent
+ * and filled with the response of the request.
+ *
+ * <p>A cache is given both the parsed response and the raw XML it was parsed from, so an implementation can keep
+ * either of them: the parsed objects for the fastest hits ({@link HeapResponseCache}), or the compact XML outside of
+ * the heap, parsed again on a hit ({@link OffHeapResponseCache}). The two can be combined with a
+ * {@link TieredResponseCache}. Responses read from the headers of a call have no XML, they can only be kept as objects.</p>
+ *
+ * <p>Only the responses of requests with an {@linkplain hu.gigsystem.szamlazz4j.model.BaseRequest#getIdempotencyKey()
+ * idempotency key} are cached, never those of creations, payments or cancellations, and only if the API reported success,
+ * so an error is never served from the cache. The keys are scoped to the account and the endpoint of the agent,
+ * so a cache can be shared by any number of agents. Implementations must be thread-safe.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public interface ResponseCache {
+
+    /**
+     * Returns a cached response.
+     *
+     * @param <T>    the type of the response
+     * @param key    the key of the response
+     * @param type   the type of the response
+     * @param parser parses the raw XML of the response, for caches keeping the XML
+     * @return the cached response, or {@code null} if it is not cached
+     * @throws IOException if the cached XML cannot be parsed
+     */
+    <T> T get(Object key, Class<T> type, Parser<T> parser) throws IOException;
+
+    /**
+     * Stores a response.
+     *
+     * @param key      the key of the response
+     * @param response the parsed response
+     * @param xml      the raw XML the response was parsed from, or {@code null} if it was read from the headers
+     */
+    void put(Object key, Object response, String xml);
+
+    /**
+     * Removes every response.
+     */
+    void invalidateAll();
+
+    /**
+     * Parser of the raw XML of a cached response.
+     *
+     * @param <T> the type of the response
+     */
+    @FunctionalInterface
+    interface Parser<T> {
+
+        /**
+         * Parses a response.
+         *
+         * @param xml the raw XML of the response
+         * @return the parsed response
+         * @throws IOException if the response cannot be parsed
+         */
+        T parse(String xml) throws IOException;
+    }
+}
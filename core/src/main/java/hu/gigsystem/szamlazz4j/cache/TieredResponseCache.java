@@ -0,0 +1,73 @@
+package hu.gigsystem.szamlazz4j.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+
+/**
+ * A {@link ResponseCache} of two tiers: responses are stored in both, looked up in the first one, then in the second one,
+ * and a response found in the second tier is put back into the first one. The usual setup is a small, short-lived
+ * {@link HeapResponseCache} of parsed responses in front of a large, long-lived {@link OffHeapResponseCache} of their XML,
+ * so the recent responses are returned without parsing and the older ones without a call to the API.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ResponseCache cache = TieredResponseCache.builder()
+ *                                          .first(HeapResponseCache.builder().maximumSize(200).build())
+ *                                          .second(OffHeapResponseCache.builder().capacity(256 * 1024 * 1024).build())
+ *                                          .build();
+ *
+ * SzamlaAgent agent = SzamlaAgent.builder()
+ *                                .key("key")
+ *                                .responseCache(cache)
+ *                                .requester(new OkHttpRequester())
+ *                                .build();
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder")
+public class TieredResponseCache implements ResponseCache {
+
+    /**
+     * The tier looked up first.
+     */
+    @NonNull
+    private final ResponseCache first;
+
+    /**
+     * The tier looked up on a miss of the first one.
+     */
+    @NonNull
+    private final ResponseCache second;
+
+    @Override
+    public <T> T get(Object key, Class<T> type, Parser<T> parser) throws IOException {
+        T response = first.get(key, type, parser);
+        if (response != null) {
+            return response;
+        }
+        return second.get(key, type, xml -> {
+            T parsed = parser.parse(xml);
+            first.put(key, parsed, xml);
+            return parsed;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object response, String xml) {
+        first.put(key, response, xml);
+        second.put(key, response, xml);
+    }
+
+    @Override
+    public void invalidateAll() {
+        first.invalidateAll();
+        second.invalidateAll();
+    }
+}
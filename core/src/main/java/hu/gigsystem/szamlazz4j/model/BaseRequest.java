@@ -1,7 +1,9 @@
 package hu.gigsystem.szamlazz4j.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.request.Priority;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -50,4 +52,60 @@ public abstract class BaseRequest<T> {
      * @param agent the {@link SzamlaAgent} responsible for sending this request
      */
     public abstract void setAgent(SzamlaAgent agent);
+
+    /**
+     * Tells whether sending this request more than once has the same effect as sending it once.
+     * <p>
+     * Only idempotent requests are hedged (see {@link hu.gigsystem.szamlazz4j.request.HedgePolicy}),
+     * as a duplicated invoice creation or payment would be a real, billable side effect.
+     * Read-only queries should override this method to return {@code true}.
+     * </p>
+     *
+     * @return {@code true} if the request can safely be sent multiple times, {@code false} by default
+     */
+    @JsonIgnore
+    public boolean isIdempotent() {
+        return false;
+    }
+
+    /**
+     * Returns a key which is equal for requests that would produce the same response, used to share the
+     * result of concurrent identical calls (see {@link hu.gigsystem.szamlazz4j.request.SingleFlight}) and as the response cache key.
+     * <p>
+     * Only {@linkplain #isIdempotent() idempotent} requests should return a key. The key must contain the
+     * {@link #getFileName() file name}, so different request types never share a result.
+     * </p>
+     *
+     * @return the key identifying identical requests, or {@code null} if calls of this request must not be shared
+     */
+    @JsonIgnore
+    public Object getIdempotencyKey() {
+        return null;
+    }
+
+    /**
+     * Returns the priority of this request when the caller does not give one in its
+     * {@link hu.gigsystem.szamlazz4j.request.RequestOptions}.
+     *
+     * @return {@link Priority#NORMAL} by default
+     */
+    @JsonIgnore
+    public Priority getDefaultPriority() {
+        return Priority.NORMAL;
+    }
+
+    /**
+     * Serializes this request to the XML document sent to the API.
+     * <p>
+     * Requests which keep parts of their document pre-serialized (see
+     * {@link hu.gigsystem.szamlazz4j.model.invoice.create.InvoicePrototype}) override this method.
+     * </p>
+     *
+     * @param mapping the XML binding of the agent sending the request
+     * @return the XML document of this request
+     * @throws JsonProcessingException if the request cannot be serialized
+     */
+    public String toXml(XmlMapping mapping) throws JsonProcessingException {
+        return mapping.write(this);
+    }
 }
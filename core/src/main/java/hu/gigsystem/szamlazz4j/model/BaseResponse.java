@@ -3,6 +3,9 @@ package hu.gigsystem.szamlazz4j.model;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import lombok.Getter;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 /**
  * Abstract base class representing a response from the Számlázz.hu API.
  *
@@ -39,6 +42,38 @@ public abstract class BaseResponse {
     @JacksonXmlProperty(localName = "hibauzenet")
     private String error;
 
+    /**
+     * Sets the common result fields, for responses which are not bound from XML (e.g. read from the HTTP headers).
+     *
+     * @param success   whether the request was successful
+     * @param errorCode the error code, if the request failed
+     * @param error     the error message, if the request failed
+     */
+    protected void setResult(boolean success, Integer errorCode, String error) {
+        this.success = success;
+        this.errorCode = errorCode;
+        this.error = error;
+    }
+
+    /**
+     * Reads the common response element the reader is positioned at, for the {@link ResponseReader}s of subclasses.
+     *
+     * @param reader the reader positioned at the start tag of an element, left at its end tag if it was read
+     * @return {@code true} if the element was a common one and was read, {@code false} if it was left untouched
+     * @throws XMLStreamException if the XML is not well-formed
+     */
+    protected boolean readBaseElement(XMLStreamReader reader) throws XMLStreamException {
+        switch (reader.getLocalName()) {
+            case "sikeres" -> success = Boolean.TRUE.equals(StaxSupport.bool(reader));
+            case "hibakod" -> errorCode = StaxSupport.integer(reader);
+            case "hibauzenet" -> error = StaxSupport.text(reader);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Used for responses that don't send back meaningful data, just whether it was successful or not.
      *
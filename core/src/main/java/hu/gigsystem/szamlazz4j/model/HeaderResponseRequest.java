@@ -0,0 +1,35 @@
+package hu.gigsystem.szamlazz4j.model;
+
+import hu.gigsystem.szamlazz4j.request.RawResponse;
+
+import java.io.IOException;
+
+/**
+ * A request whose result can be returned in the {@code szlahu_*} HTTP headers instead of an XML body, e.g. an invoice
+ * created with {@code valaszVerzio=1}, or the raw PDF of an invoice. Only requests implementing this interface can ask
+ * for a header response, so the agent never has to parse a binary body as XML.
+ *
+ * @param <T> the type of the response built from the headers
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public interface HeaderResponseRequest<T> {
+
+    /**
+     * Tells whether the result of this request is returned in the HTTP headers, in which case the response is built
+     * by {@link #readHeaders(RawResponse)} without parsing the body.
+     *
+     * @return {@code true} if this request asks for a header response
+     */
+    boolean isHeaderResponse();
+
+    /**
+     * Builds the response of this request from the HTTP headers, called if {@link #isHeaderResponse()} is {@code true}.
+     *
+     * @param response the raw response
+     * @return the response object
+     * @throws IOException if the response cannot be read
+     */
+    T readHeaders(RawResponse response) throws IOException;
+}
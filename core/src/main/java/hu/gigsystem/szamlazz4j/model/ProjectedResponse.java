@@ -0,0 +1,120 @@
+package hu.gigsystem.szamlazz4j.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The values of the elements of a response requested by a {@link Projection}, as their raw text.
+ *
+ * <p>Elements missing from the response have no value. Numeric, boolean and date getters return {@code null}
+ * for missing and empty elements.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public class ProjectedResponse {
+
+    private final Map<String, String> values;
+
+    ProjectedResponse(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Returns all values read, by element path.
+     *
+     * @return the values by element path
+     */
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    /**
+     * Tells whether the element was present in the response.
+     *
+     * @param path the path of the element, as given to the projection
+     * @return {@code true} if the element was found
+     */
+    public boolean contains(String path) {
+        return values.containsKey(path);
+    }
+
+    /**
+     * Returns the text of an element.
+     *
+     * @param path the path of the element, as given to the projection
+     * @return the text of the element, or {@code null} if it is missing
+     */
+    public String get(String path) {
+        return values.get(path);
+    }
+
+    /**
+     * Returns the text of an element as an integer.
+     *
+     * @param path the path of the element, as given to the projection
+     * @return the value, or {@code null} if the element is missing or empty
+     * @throws NumberFormatException if the text is not an integer
+     */
+    public Integer getInteger(String path) {
+        String text = trimmed(path);
+        return text == null ? null : Integer.valueOf(text);
+    }
+
+    /**
+     * Returns the text of an element as a decimal.
+     *
+     * @param path the path of the element, as given to the projection
+     * @return the value, or {@code null} if the element is missing or empty
+     * @throws NumberFormatException if the text is not a decimal
+     */
+    public BigDecimal getDecimal(String path) {
+        String text = trimmed(path);
+        return text == null ? null : new BigDecimal(text);
+    }
+
+    /**
+     * Returns the text of an element as a boolean, {@code true} for {@code true} and {@code 1}.
+     *
+     * @param path the path of the element, as given to the projection
+     * @return the value, or {@code null} if the element is missing or empty
+     */
+    public Boolean getBoolean(String path) {
+        String text = trimmed(path);
+        return text == null ? null : "true".equalsIgnoreCase(text) || "1".equals(text);
+    }
+
+    /**
+     * Returns the text of an element as an ISO ({@code yyyy-MM-dd}) date.
+     *
+     * @param path the path of the element, as given to the projection
+     * @return the value, or {@code null} if the element is missing or empty
+     * @throws java.time.format.DateTimeParseException if the text is not a date
+     */
+    public LocalDate getDate(String path) {
+        String text = trimmed(path);
+        return text == null ? null : LocalDate.parse(text);
+    }
+
+    /**
+     * Tells whether the response reported success, see {@link BaseResponse#isSuccess()}.
+     * The projection must contain the {@code sikeres} element.
+     *
+     * @return {@code true} if the {@code sikeres} element was found and is true
+     */
+    public boolean isSuccess() {
+        return Boolean.TRUE.equals(getBoolean("sikeres"));
+    }
+
+    private String trimmed(String path) {
+        String text = values.get(path);
+        if (text == null) {
+            return null;
+        }
+        text = text.trim();
+        return text.isEmpty() ? null : text;
+    }
+}
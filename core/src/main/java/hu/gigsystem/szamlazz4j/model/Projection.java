@@ -0,0 +1,156 @@
+package hu.gigsystem.szamlazz4j.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The elements of a response the caller is interested in, for parsing only those instead of binding the whole response.
+ *
+ * <p>Elements are given by their local name path below the root element, e.g. {@code szamlaszam} of an
+ * {@link hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse}, or {@code alap/szamlaszam} of a
+ * {@link hu.gigsystem.szamlazz4j.model.invoice.query.response.FullInvoiceResponse}. Parsing stops as soon as every
+ * requested element was found, and subtrees which cannot contain a requested element (like the Base64 {@code pdf}) are
+ * skipped without their text being decoded into strings. A repeated element is read at its first occurrence only.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ProjectedResponse response = agent.sendRequest(request, Projection.of("sikeres", "szamlaszam"));
+ * if (response.isSuccess()) {
+ *     String invoiceNumber = response.get("szamlaszam");
+ * }
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+public final class Projection {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    /**
+     * The requested element paths.
+     */
+    private final Set<String> paths;
+
+    /**
+     * The paths of the elements containing a requested element, which must be descended into.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Set<String> parents;
+
+    private Projection(Set<String> paths) {
+        this.paths = Collections.unmodifiableSet(paths);
+        Set<String> parents = new HashSet<>();
+        for (String path : paths) {
+            for (int i = path.indexOf('/'); i > 0; i = path.indexOf('/', i + 1)) {
+                parents.add(path.substring(0, i));
+            }
+        }
+        this.parents = parents;
+    }
+
+    /**
+     * Creates a projection of the given elements.
+     *
+     * @param paths the local name paths of the elements below the root element, separated by {@code /}
+     * @return the projection
+     * @throws IllegalArgumentException if no path is given, a path is empty, or a path is the parent of another one
+     */
+    public static Projection of(@NonNull String... paths) {
+        Set<String> set = new LinkedHashSet<>();
+        for (String path : paths) {
+            if (path == null || path.isEmpty() || path.startsWith("/") || path.endsWith("/")) {
+                throw new IllegalArgumentException("Invalid projection path: " + path);
+            }
+            set.add(path);
+        }
+        if (set.isEmpty()) {
+            throw new IllegalArgumentException("At least one projection path is required!");
+        }
+        for (String path : set) {
+            for (int i = path.indexOf('/'); i > 0; i = path.indexOf('/', i + 1)) {
+                // the requested elements are read as text, so a parent cannot be requested with its children
+                if (set.contains(path.substring(0, i))) {
+                    throw new IllegalArgumentException("Projection path " + path.substring(0, i) + " is the parent of " + path + "!");
+                }
+            }
+        }
+        return new Projection(set);
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // not coalescing, so the text of skipped elements is never assembled
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    /**
+     * Parses the requested elements of a raw response.
+     *
+     * @param xml the raw XML response
+     * @return the values of the requested elements which are present in the response
+     * @throws IOException if the response is not well-formed or a requested element is not a simple element
+     */
+    public ProjectedResponse read(String xml) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(new StringReader(xml));
+            reader.nextTag();
+            readChildren(reader, null, values);
+        } catch (XMLStreamException e) {
+            throw new IOException("Response cannot be parsed!", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // nothing to release
+                }
+            }
+        }
+        return new ProjectedResponse(values);
+    }
+
+    /**
+     * Reads the requested elements below the current one.
+     *
+     * @return {@code true} if every requested element was found and parsing can stop
+     */
+    private boolean readChildren(XMLStreamReader reader, String parent, Map<String, String> values) throws XMLStreamException {
+        while (StaxSupport.nextChild(reader)) {
+            String path = parent == null ? reader.getLocalName() : parent + '/' + reader.getLocalName();
+            if (paths.contains(path) && !values.containsKey(path)) {
+                values.put(path, reader.getElementText());
+                if (values.size() == paths.size()) {
+                    return true;
+                }
+            } else if (parents.contains(path)) {
+                if (readChildren(reader, path, values)) {
+                    return true;
+                }
+            } else {
+                StaxSupport.skip(reader);
+            }
+        }
+        return false;
+    }
+}
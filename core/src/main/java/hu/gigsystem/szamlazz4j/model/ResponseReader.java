@@ -0,0 +1,44 @@
+package hu.gigsystem.szamlazz4j.model;
+
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.model.invoice.query.response.FullInvoiceResponse;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Parses a raw XML response into a response object without the reflective binding of the agent's
+ * {@link com.fasterxml.jackson.dataformat.xml.XmlMapper}.
+ *
+ * <p>Readers are registered on the agent by response type, see
+ * {@code SzamlaAgent.builder().responseReaders(ResponseReader.stax())}. Like the mapper, readers skip the elements
+ * they do not know.</p>
+ *
+ * @param <T> the type of the response
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@FunctionalInterface
+public interface ResponseReader<T> {
+
+    /**
+     * Parses the raw response.
+     *
+     * @param xml the raw XML response
+     * @return the parsed response
+     * @throws IOException if the response is not well-formed or a value cannot be converted
+     */
+    T read(String xml) throws IOException;
+
+    /**
+     * Returns the StAX readers of the responses parsed most often: {@link XmlInvoiceResponse}
+     * (invoice creation and PDF download) and {@link FullInvoiceResponse} (invoice query).
+     *
+     * @return the readers by response type
+     */
+    static Map<Class<?>, ResponseReader<?>> stax() {
+        return Map.of(XmlInvoiceResponse.class, XmlInvoiceResponse.READER,
+                FullInvoiceResponse.class, FullInvoiceResponse.READER);
+    }
+}
@@ -0,0 +1,232 @@
+package hu.gigsystem.szamlazz4j.model;
+
+import hu.gigsystem.szamlazz4j.model.invoice.enums.InvoiceLanguage;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers of the hand-written StAX {@link ResponseReader}s.
+ *
+ * <p>Elements are matched by local name, ignoring namespaces, and unknown elements are skipped with their
+ * content, the same way as the mapper of the agent binds them. Empty numeric, boolean and date elements are read
+ * as {@code null}.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public final class StaxSupport {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private StaxSupport() {
+        // static use only
+    }
+
+    /**
+     * Reads an element, typically a part of a response.
+     *
+     * @param <T> the type of the read object
+     */
+    @FunctionalInterface
+    public interface ElementReader<T> {
+
+        /**
+         * Reads the element the reader is positioned at, leaving the reader at its end tag.
+         *
+         * @param reader the reader positioned at the start tag of the element
+         * @return the read object
+         * @throws XMLStreamException if the XML is not well-formed
+         */
+        T read(XMLStreamReader reader) throws XMLStreamException;
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Reads a whole document with the reader of its root element.
+     *
+     * @param <T>  the type of the response
+     * @param xml  the raw XML document
+     * @param root the reader of the root element
+     * @return the read response
+     * @throws IOException if the document is not well-formed or a value cannot be converted
+     */
+    public static <T> T read(String xml, ElementReader<T> root) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(new StringReader(xml));
+            reader.nextTag();
+            return root.read(reader);
+        } catch (XMLStreamException | RuntimeException e) {
+            throw new IOException("Response cannot be parsed!", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // nothing to release
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves to the start tag of the next child of the current element.
+     *
+     * @param reader the reader positioned at the start tag of the parent or the end tag of a previous child
+     * @return {@code true} if positioned at a child, {@code false} if positioned at the end tag of the parent
+     * @throws XMLStreamException if the XML is not well-formed
+     */
+    public static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Skips the current element with all of its content.
+     *
+     * @param reader the reader positioned at the start tag of the element, left at its end tag
+     * @throws XMLStreamException if the XML is not well-formed
+     */
+    public static void skip(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Reads the text of a simple element.
+     *
+     * @param reader the reader positioned at the start tag of the element, left at its end tag
+     * @return the text of the element
+     * @throws XMLStreamException if the element has child elements
+     */
+    public static String text(XMLStreamReader reader) throws XMLStreamException {
+        return reader.getElementText();
+    }
+
+    /**
+     * Reads the text of a simple element as an integer.
+     *
+     * @param reader the reader positioned at the start tag of the element, left at its end tag
+     * @return the value, or {@code null} if the element is empty
+     * @throws XMLStreamException if the element has child elements
+     */
+    public static Integer integer(XMLStreamReader reader) throws XMLStreamException {
+        String text = trimmed(reader);
+        return text == null ? null : Integer.valueOf(text);
+    }
+
+    /**
+     * Reads the text of a simple element as a decimal.
+     *
+     * @param reader the reader positioned at the start tag of the element, left at its end tag
+     * @return the value, or {@code null} if the element is empty
+     * @throws XMLStreamException if the element has child elements
+     */
+    public static BigDecimal decimal(XMLStreamReader reader) throws XMLStreamException {
+        String text = trimmed(reader);
+        return text == null ? null : new BigDecimal(text);
+    }
+
+    /**
+     * Reads the text of a simple element as a boolean, {@code true} for {@code true} and {@code 1}.
+     *
+     * @param reader the reader positioned at the start tag of the element, left at its end tag
+     * @return the value, or {@code null} if the element is empty
+     * @throws XMLStreamException if the element has child elements
+     */
+    public static Boolean bool(XMLStreamReader reader) throws XMLStreamException {
+        String text = trimmed(reader);
+        return text == null ? null : "true".equalsIgnoreCase(text) || "1".equals(text);
+    }
+
+    /**
+     * Reads the text of a simple element as an ISO ({@code yyyy-MM-dd}) date.
+     *
+     * @param reader the reader positioned at the start tag of the element, left at its end tag
+     * @return the value, or {@code null} if the element is empty
+     * @throws XMLStreamException if the element has child elements
+     */
+    public static LocalDate date(XMLStreamReader reader) throws XMLStreamException {
+        String text = trimmed(reader);
+        return text == null ? null : LocalDate.parse(text);
+    }
+
+    /**
+     * Reads the text of a simple element as an invoice language code.
+     *
+     * @param reader the reader positioned at the start tag of the element, left at its end tag
+     * @return the value, or {@code null} if the element is empty
+     * @throws XMLStreamException if the element has child elements
+     */
+    public static InvoiceLanguage language(XMLStreamReader reader) throws XMLStreamException {
+        String text = trimmed(reader);
+        if (text == null) {
+            return null;
+        }
+        for (InvoiceLanguage language : InvoiceLanguage.values()) {
+            if (language.getCode().equals(text)) {
+                return language;
+            }
+        }
+        throw new IllegalArgumentException("Unknown invoice language: " + text);
+    }
+
+    /**
+     * Reads the repeated {@code element} children of a wrapper element, skipping any other child.
+     *
+     * @param <T>     the type of the list elements
+     * @param reader  the reader positioned at the start tag of the wrapper, left at its end tag
+     * @param element the local name of the list elements
+     * @param item    the reader of one list element
+     * @return the list elements in document order
+     * @throws XMLStreamException if the XML is not well-formed
+     */
+    public static <T> List<T> list(XMLStreamReader reader, String element, ElementReader<T> item) throws XMLStreamException {
+        List<T> list = new ArrayList<>();
+        while (nextChild(reader)) {
+            if (element.equals(reader.getLocalName())) {
+                list.add(item.read(reader));
+            } else {
+                skip(reader);
+            }
+        }
+        return list;
+    }
+
+    private static String trimmed(XMLStreamReader reader) throws XMLStreamException {
+        String text = reader.getElementText().trim();
+        return text.isEmpty() ? null : text;
+    }
+}
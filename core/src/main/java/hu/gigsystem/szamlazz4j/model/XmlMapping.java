@@ -0,0 +1,212 @@
+package hu.gigsystem.szamlazz4j.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import hu.gigsystem.szamlazz4j.model.invoice.InvoicePaymentRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.ProformaDeleteRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.model.invoice.cancel.CancelInvoiceRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.query.InvoicePdfQueryRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.query.InvoiceQueryRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.query.response.FullInvoiceResponse;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The XML binding of the agent: the {@link XmlMapper}, the {@link ObjectWriter} of the requests and an
+ * {@link ObjectReader} bound to each response class, looked up once and reused by every call.
+ *
+ * <p>The library only registers the modules it needs ({@link JavaTimeModule}, and {@link BlackbirdModule} outside of
+ * native images), so Jackson modules on the classpath of the application do not change the XML of the agent. A mapping
+ * can also be created from a mapper, and optionally a request writer, configured by the application, which are then used as is.</p>
+ *
+ * <p>A mapping is thread-safe, and can be shared by any number of agents, whose serializer caches then stay warm.
+ * Agents built without a mapping use the {@linkplain #shared() shared default mapping}.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * XmlMapping mapping = XmlMapping.create();
+ *
+ * SzamlaAgent agent = SzamlaAgent.builder()
+ *                                .key("key")
+ *                                .mapping(mapping)
+ *                                .requester(new OkHttpRequester())
+ *                                .build();
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+public class XmlMapping {
+
+    /**
+     * The request classes of the agent API.
+     */
+    public static final List<Class<?>> REQUEST_TYPES = List.of(InvoiceRequest.class, CancelInvoiceRequest.class,
+            InvoicePdfQueryRequest.class, InvoiceQueryRequest.class, InvoicePaymentRequest.class, ProformaDeleteRequest.class);
+
+    /**
+     * The response classes of the agent API.
+     */
+    public static final List<Class<?>> RESPONSE_TYPES = List.of(XmlInvoiceResponse.class, FullInvoiceResponse.class,
+            BaseResponse.SimpleResponse.class);
+
+    /**
+     * The mapper the writer and the readers are created from.
+     */
+    private final XmlMapper mapper;
+
+    /**
+     * The writer of the requests.
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * The readers bound to the response classes, created on first use.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a mapping of the given mapper, which is used as is.
+     *
+     * @param mapper the configured mapper (must not be null)
+     */
+    public XmlMapping(@NonNull XmlMapper mapper) {
+        this(mapper, mapper.writer());
+    }
+
+    /**
+     * Creates a mapping of the given mapper and request writer, which are used as is.
+     *
+     * @param mapper the configured mapper (must not be null)
+     * @param writer the writer of the requests, created from the mapper (must not be null)
+     */
+    public XmlMapping(@NonNull XmlMapper mapper, @NonNull ObjectWriter writer) {
+        this.mapper = mapper;
+        this.writer = writer;
+    }
+
+    /**
+     * Returns the mapping shared by every agent which is not given one, created on first use.
+     * Its serializer and deserializer caches stay warm however many agents are built.
+     *
+     * @return the shared default mapping
+     */
+    public static XmlMapping shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Creates a mapping with a new mapper configured by {@link #createMapper()}.
+     *
+     * @return the mapping
+     */
+    public static XmlMapping create() {
+        return new XmlMapping(createMapper());
+    }
+
+    /**
+     * Creates and configures a new {@link XmlMapper} instance used for XML serialization and deserialization.
+     *
+     * <p>The mapper is configured to:</p>
+     * <ul>
+     *   <li>Write the XML declaration</li>
+     *   <li>Write {@link java.math.BigDecimal} amounts in plain notation (never as {@code 1E+3})</li>
+     *   <li>Ignore unknown properties during deserialization</li>
+     *   <li>Include non-null and non-empty properties only during serialization</li>
+     *   <li>Handle {@code java.time} values ({@link JavaTimeModule}), registered explicitly instead of discovering modules with a {@code ServiceLoader}</li>
+     *   <li>Access the properties of the models through generated lambdas instead of reflection ({@link BlackbirdModule}),
+     *   except in a GraalVM native image, which cannot define classes at runtime</li>
+     * </ul>
+     *
+     * <p>Applications configuring their own mapper should start from this one, as the requests are validated
+     * against the schemas of the API.</p>
+     *
+     * @return a configured {@link XmlMapper} instance
+     */
+    public static XmlMapper createMapper() {
+        XmlMapper mapper = (XmlMapper) new XmlMapper()
+                .configure(ToXmlGenerator.Feature.WRITE_XML_DECLARATION, true)
+                .configure(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN, true)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .registerModule(new JavaTimeModule())
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+        if (System.getProperty("org.graalvm.nativeimage.imagecode") == null) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        return mapper;
+    }
+
+    /**
+     * Returns the reader bound to a response class.
+     *
+     * @param type the response class
+     * @return the reader, created on the first call for the class
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * Parses a response.
+     *
+     * @param <T>  the type of the response
+     * @param xml  the XML of the response
+     * @param type the response class
+     * @return the parsed response
+     * @throws IOException if the response cannot be parsed
+     */
+    public <T> T read(String xml, Class<T> type) throws IOException {
+        return readerFor(type).readValue(xml);
+    }
+
+    /**
+     * Serializes a request.
+     *
+     * @param value the request
+     * @return the XML document of the request
+     * @throws JsonProcessingException if the request cannot be serialized
+     */
+    public String write(Object value) throws JsonProcessingException {
+        return writer.writeValueAsString(value);
+    }
+
+    /**
+     * Builds the serializers of every {@linkplain #REQUEST_TYPES request class} and binds a reader to every
+     * {@linkplain #RESPONSE_TYPES response class}, ahead of the first call.
+     */
+    public void warmUp() {
+        for (Class<?> type : REQUEST_TYPES) {
+            writer.forType(type);
+        }
+        for (Class<?> type : RESPONSE_TYPES) {
+            readerFor(type);
+        }
+    }
+
+    /**
+     * Lazy holder of the {@linkplain #shared() shared mapping}.
+     */
+    private static final class Shared {
+        private static final XmlMapping INSTANCE = create();
+    }
+}
@@ -1,11 +1,17 @@
 package hu.gigsystem.szamlazz4j.model.invoice;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import hu.gigsystem.szamlazz4j.SzamlaAgent;
 import hu.gigsystem.szamlazz4j.model.BaseRequest;
+import hu.gigsystem.szamlazz4j.request.Priority;
 import lombok.Builder;
+import lombok.Getter;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,8 +25,14 @@ import java.util.List;
  * @since 5th of July, 2025
  */
 @Builder
+@JacksonXmlRootElement(localName = "xmlszamlakifiz", namespace = "http://www.szamlazz.hu/xmlszamlakifiz")
 public class InvoicePaymentRequest extends BaseRequest<XmlInvoiceResponse> {
 
+    /**
+     * The maximum number of payments a single request may contain, as defined by the schema.
+     */
+    public static final int MAX_PAYMENTS = 5;
+
     /**
      * Configuration settings including authentication details, invoice number, etc.
      */
@@ -28,8 +40,9 @@ public class InvoicePaymentRequest extends BaseRequest<XmlInvoiceResponse> {
     private Settings settings;
 
     /**
-     * List of payments to be applied to the invoice.
+     * List of payments to be applied to the invoice, at most {@value #MAX_PAYMENTS}.
      */
+    @JacksonXmlElementWrapper(useWrapping = false)
     @JacksonXmlProperty(localName = "kifizetes", namespace = "http://www.szamlazz.hu/xmlszamlakifiz")
     private List<Payment> payments;
 
@@ -37,7 +50,7 @@ public class InvoicePaymentRequest extends BaseRequest<XmlInvoiceResponse> {
      * Constructs a new InvoicePaymentRequest instance.
      **/
     protected InvoicePaymentRequest(Settings settings, List<Payment> payments) {
-        super("szamla_agent_kifiz", "xmlszamlakifiz.xml");
+        super("action-szamla_agent_kifiz", "xmlszamlakifiz.xml");
         this.settings = settings;
         this.payments = payments;
     }
@@ -52,6 +65,17 @@ public class InvoicePaymentRequest extends BaseRequest<XmlInvoiceResponse> {
         settings.setAgent(agent);
     }
 
+    /**
+     * Payment registrations are typically sent in batches by background jobs.
+     *
+     * @return {@link Priority#BULK}
+     */
+    @JsonIgnore
+    @Override
+    public Priority getDefaultPriority() {
+        return Priority.BULK;
+    }
+
     /**
      * Represents a payment record in the invoice payment request.
      * Each payment contains the date, type, amount, and an optional description.
@@ -60,6 +84,7 @@ public class InvoicePaymentRequest extends BaseRequest<XmlInvoiceResponse> {
      * @version 1.0.0
      * @since 5th of July, 2025
      */
+    @Getter
     @Builder
     public static class Payment {
 
@@ -80,7 +105,7 @@ public class InvoicePaymentRequest extends BaseRequest<XmlInvoiceResponse> {
          * Amount of the payment.
          */
         @JacksonXmlProperty(localName = "osszeg", namespace = "http://www.szamlazz.hu/xmlszamlakifiz")
-        private Double amount;
+        private BigDecimal amount;
 
         /**
          * Optional textual description for the payment.
@@ -99,12 +124,6 @@ public class InvoicePaymentRequest extends BaseRequest<XmlInvoiceResponse> {
     @Builder
     public static class Settings {
 
-        /**
-         * Expected version of the response. Defaults to {@code 2}.
-         */
-        @Builder.Default
-        @JacksonXmlProperty(localName = "valaszVerzio", namespace = "http://www.szamlazz.hu/xmlszamla")
-        private final Integer answerType = 2;
         /**
          * Username for authentication.
          */
@@ -140,6 +159,13 @@ public class InvoicePaymentRequest extends BaseRequest<XmlInvoiceResponse> {
          */
         @JacksonXmlProperty(localName = "aggregator", namespace = "http://www.szamlazz.hu/xmlszamlakifiz")
         private String aggregator;
+        /**
+         * Expected version of the response. Defaults to {@code 2}.
+         * Must be the last setting, as the schema defines the elements as a sequence.
+         */
+        @Builder.Default
+        @JacksonXmlProperty(localName = "valaszVerzio", namespace = "http://www.szamlazz.hu/xmlszamlakifiz")
+        private final Integer answerType = 2;
 
         /**
          * Sets the authentication details from the given {@link SzamlaAgent}.
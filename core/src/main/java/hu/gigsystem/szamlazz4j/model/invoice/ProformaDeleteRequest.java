@@ -1,9 +1,12 @@
 package hu.gigsystem.szamlazz4j.model.invoice;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import hu.gigsystem.szamlazz4j.SzamlaAgent;
 import hu.gigsystem.szamlazz4j.model.BaseRequest;
 import hu.gigsystem.szamlazz4j.model.BaseResponse;
+import hu.gigsystem.szamlazz4j.request.Priority;
 import lombok.Builder;
 
 /**
@@ -15,6 +18,7 @@ import lombok.Builder;
  * @since 5th of July, 2025
  **/
 @Builder
+@JacksonXmlRootElement(localName = "xmlszamladbkdel", namespace = "http://www.szamlazz.hu/xmlszamladbkdel")
 public class ProformaDeleteRequest extends BaseRequest<BaseResponse.SimpleResponse> {
     /**
      * Configuration and authentication details required for the request.
@@ -32,7 +36,7 @@ public class ProformaDeleteRequest extends BaseRequest<BaseResponse.SimpleRespon
      * Constructs a new {@code ProformaDeleteRequest} instance with predefined request name and XML file.
      */
     protected ProformaDeleteRequest(Settings settings, Header header) {
-        super("szamla_agent_dijbekero_torlese", "xmlszamladbkdel");
+        super("action-szamla_agent_dijbekero_torlese", "xmlszamladbkdel.xml");
         this.settings = settings;
         this.header = header;
     }
@@ -47,6 +51,17 @@ public class ProformaDeleteRequest extends BaseRequest<BaseResponse.SimpleRespon
         settings.setAgent(agent);
     }
 
+    /**
+     * Proforma deletions are typically part of cleanup jobs.
+     *
+     * @return {@link Priority#BULK}
+     */
+    @JsonIgnore
+    @Override
+    public Priority getDefaultPriority() {
+        return Priority.BULK;
+    }
+
     /**
      * Contains invoice and order identifiers required to delete the correct proforma invoice.
      *
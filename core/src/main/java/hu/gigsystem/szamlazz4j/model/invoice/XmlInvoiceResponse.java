@@ -3,11 +3,19 @@ package hu.gigsystem.szamlazz4j.model.invoice;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import hu.gigsystem.szamlazz4j.model.BaseResponse;
+import hu.gigsystem.szamlazz4j.model.ResponseReader;
+import hu.gigsystem.szamlazz4j.model.StaxSupport;
+import hu.gigsystem.szamlazz4j.request.RawResponse;
 import lombok.Getter;
 
-import java.io.BufferedOutputStream;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Base64;
@@ -30,6 +38,12 @@ import java.util.Base64;
 @Getter
 @JacksonXmlRootElement(localName = "xmlszamlavalasz", namespace = "http://www.szamlazz.hu/xmlszamlavalasz")
 public class XmlInvoiceResponse extends BaseResponse {
+
+    /**
+     * Reads the response with StAX instead of the reflective binding of the mapper, see {@link ResponseReader#stax()}.
+     */
+    public static final ResponseReader<XmlInvoiceResponse> READER = xml -> StaxSupport.read(xml, XmlInvoiceResponse::read);
+
     /**
      * The unique invoice number assigned by the system.
      */
@@ -40,13 +54,13 @@ public class XmlInvoiceResponse extends BaseResponse {
      * Total invoice amount including taxes (gross).
      */
     @JacksonXmlProperty(localName = "szamlabrutto")
-    private Double priceTotal;
+    private BigDecimal priceTotal;
 
     /**
      * Total invoice amount excluding taxes (net).
      */
     @JacksonXmlProperty(localName = "szamlanetto")
-    private Double priceTotalExclTax;
+    private BigDecimal priceTotalExclTax;
 
     /**
      * URL to the customer's account or invoice details page.
@@ -58,7 +72,7 @@ public class XmlInvoiceResponse extends BaseResponse {
      * Outstanding amount due (receivable).
      */
     @JacksonXmlProperty(localName = "kintlevoseg")
-    private Double receivable;
+    private BigDecimal receivable;
 
     /**
      * Base64 encoded PDF file of the invoice.
@@ -86,9 +100,91 @@ public class XmlInvoiceResponse extends BaseResponse {
      * @throws IOException if an I/O error occurs writing the file
      */
     public void writePdfToFile(Path output) throws IOException {
-        byte[] pdfData = getDecodedPdf();
-        try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(output, StandardOpenOption.CREATE_NEW))) {
-            out.write(pdfData, 0, pdfData.length);
+        ByteBuffer pdfData = ByteBuffer.wrap(getDecodedPdf());
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (pdfData.hasRemaining()) {
+                channel.write(pdfData);
+            }
+        }
+    }
+
+    /**
+     * Builds the response from the {@code szlahu_*} headers returned with response version {@code 1}, without parsing the body.
+     * If the body is the invoice PDF, it is kept as {@link #getPdf()}.
+     *
+     * @param raw the raw response
+     * @return the response
+     * @throws IOException if the status is not {@code 2xx}, the requester does not expose the headers, the headers
+     *                     report neither an invoice number nor an error, the PDF body cannot be read or a header has an invalid value
+     */
+    public static XmlInvoiceResponse fromHeaders(RawResponse raw) throws IOException {
+        return fromHeaders(raw, true);
+    }
+
+    /**
+     * Builds the response from the {@code szlahu_*} headers returned with response version {@code 1}, without parsing the body.
+     *
+     * @param raw     the raw response
+     * @param readPdf whether a PDF body is read and kept as {@link #getPdf()}, or left unread for the caller to stream
+     * @return the response
+     * @throws IOException if the status is not {@code 2xx}, the requester does not expose the headers, the headers
+     *                     report neither an invoice number nor an error, the PDF body cannot be read or a header has an invalid value
+     */
+    public static XmlInvoiceResponse fromHeaders(RawResponse raw, boolean readPdf) throws IOException {
+        if (raw.getStatus() < 200 || raw.getStatus() >= 300) {
+            throw new IOException("Unexpected HTTP status " + raw.getStatus() + " of a header response!");
+        }
+        if (raw.getHeaders().isEmpty()) {
+            throw new IOException("The requester does not expose the response headers, which the header response needs!");
+        }
+        XmlInvoiceResponse response = new XmlInvoiceResponse();
+        String errorCode = raw.getHeader("szlahu_error_code");
+        String error = raw.getHeader("szlahu_error");
+        boolean success = errorCode == null && error == null;
+        if (success && raw.getHeader("szlahu_szamlaszam") == null) {
+            throw new IOException("The response headers report neither an invoice number nor an error!");
+        }
+        try {
+            response.setResult(success, errorCode == null ? null : Integer.valueOf(errorCode.trim()), decode(error));
+            response.invoiceNumber = raw.getHeader("szlahu_szamlaszam");
+            response.priceTotalExclTax = decimal(raw.getHeader("szlahu_nettovegosszeg"));
+            response.priceTotal = decimal(raw.getHeader("szlahu_bruttovegosszeg"));
+            response.receivable = decimal(raw.getHeader("szlahu_kintlevoseg"));
+            response.customerUrl = decode(raw.getHeader("szlahu_vevoifiokurl"));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Response headers cannot be parsed!", e);
+        }
+        String contentType = raw.getContentType();
+        if (readPdf && success && contentType != null && contentType.startsWith("application/pdf")) {
+            response.pdf = Base64.getEncoder().encodeToString(raw.readBytes());
+        }
+        return response;
+    }
+
+    private static BigDecimal decimal(String header) {
+        return header == null || header.isBlank() ? null : new BigDecimal(header.trim());
+    }
+
+    private static String decode(String header) {
+        return header == null ? null : URLDecoder.decode(header, StandardCharsets.UTF_8);
+    }
+
+    private static XmlInvoiceResponse read(XMLStreamReader reader) throws XMLStreamException {
+        XmlInvoiceResponse response = new XmlInvoiceResponse();
+        while (StaxSupport.nextChild(reader)) {
+            if (response.readBaseElement(reader)) {
+                continue;
+            }
+            switch (reader.getLocalName()) {
+                case "szamlaszam" -> response.invoiceNumber = StaxSupport.text(reader);
+                case "szamlabrutto" -> response.priceTotal = StaxSupport.decimal(reader);
+                case "szamlanetto" -> response.priceTotalExclTax = StaxSupport.decimal(reader);
+                case "vevoifiokurl" -> response.customerUrl = StaxSupport.text(reader);
+                case "kintlevoseg" -> response.receivable = StaxSupport.decimal(reader);
+                case "pdf" -> response.pdf = StaxSupport.text(reader);
+                default -> StaxSupport.skip(reader);
+            }
         }
+        return response;
     }
-}
\ No newline at end of file
+}
@@ -21,6 +21,13 @@ import java.time.LocalDate;
 @Builder
 public class CancelHeader {
 
+    /**
+     * The number of the invoice to cancel.
+     * Corresponds to the XML tag {@code <szamlaszam>}.
+     */
+    @JacksonXmlProperty(localName = "szamlaszam", namespace = "http://www.szamlazz.hu/xmlszamlast")
+    private String invoiceNumber;
+
     /**
      * The date the original invoice was issued.
      * Corresponds to the XML tag {@code <keltDatum>}.
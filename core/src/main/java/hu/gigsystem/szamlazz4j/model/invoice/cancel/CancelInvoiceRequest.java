@@ -70,7 +70,9 @@ public class CancelInvoiceRequest extends BaseRequest<XmlInvoiceResponse> {
     @Override
     public void setAgent(SzamlaAgent agent) {
         this.settings.setAgent(agent);
-        this.seller.setAgent(agent);
+        if (this.seller != null) {
+            this.seller.setAgent(agent);
+        }
     }
 
     /**
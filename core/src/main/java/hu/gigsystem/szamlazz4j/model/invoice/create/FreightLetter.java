@@ -4,6 +4,8 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import hu.gigsystem.szamlazz4j.model.invoice.enums.FreightProvider;
 import lombok.Builder;
 
+import java.math.BigDecimal;
+
 /**
  * Represents a freight letter containing shipment details for various freight providers.
  * <p>
@@ -159,6 +161,6 @@ public class FreightLetter {
 
         /** Declared value of the shipment for insurance purposes. */
         @JacksonXmlProperty(localName = "erteknyilvanitas", namespace = "http://www.szamlazz.hu/xmlszamla")
-        private Double value;
+        private BigDecimal value;
     }
 }
@@ -5,7 +5,9 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import hu.gigsystem.szamlazz4j.model.invoice.enums.InvoiceLanguage;
 import hu.gigsystem.szamlazz4j.model.invoice.enums.InvoiceTemplate;
 import lombok.Builder;
+import lombok.Getter;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -20,6 +22,7 @@ import java.time.LocalDate;
  * @version 1.0.0
  * @since 3rd of July, 2025
  */
+@Getter
 @Builder
 public class InvoiceHeader {
 
@@ -80,7 +83,7 @@ public class InvoiceHeader {
      * Exchange rate applied to the invoice (arfolyam).
      */
     @JacksonXmlProperty(localName = "arfolyam", namespace = "http://www.szamlazz.hu/xmlszamla")
-    private Double exchangeRate;
+    private BigDecimal exchangeRate;
 
     /**
      * Customer's order number for reference (rendelesSzam).
@@ -152,7 +155,7 @@ public class InvoiceHeader {
      * Amount due correction, if any (fizetendoKorrekcio).
      */
     @JacksonXmlProperty(localName = "fizetendoKorrekcio", namespace = "http://www.szamlazz.hu/xmlszamla")
-    private Double amountDueCorretion;
+    private BigDecimal amountDueCorretion;
 
     /**
      * Flag indicating if the invoice is marked as paid (fizetve).
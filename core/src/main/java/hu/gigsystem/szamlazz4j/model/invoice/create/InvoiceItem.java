@@ -3,7 +3,9 @@ package hu.gigsystem.szamlazz4j.model.invoice.create;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import lombok.Builder;
+import lombok.Getter;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -20,6 +22,7 @@ import java.time.LocalDate;
  * @version 1.0.0
  * @since 3rd of July, 2025
  */
+@Getter
 @Builder
 public class InvoiceItem {
 
@@ -108,7 +111,7 @@ public class InvoiceItem {
      * Quantity of the item being invoiced.
      */
     @JacksonXmlProperty(localName = "mennyiseg", namespace = "http://www.szamlazz.hu/xmlszamla")
-    private Double quantity;
+    private BigDecimal quantity;
 
     /**
      * Unit of measurement for the quantity (e.g., pcs, kg).
@@ -120,7 +123,7 @@ public class InvoiceItem {
      * Net unit price for the item, excluding VAT.
      */
     @JacksonXmlProperty(localName = "nettoEgysegar", namespace = "http://www.szamlazz.hu/xmlszamla")
-    private Double netUnitPrice;
+    private BigDecimal netUnitPrice;
 
     /**
      * VAT rate code applied to this item (use the VAT_* constants).
@@ -132,25 +135,25 @@ public class InvoiceItem {
      * Margin VAT base amount, if applicable (used for margin scheme VAT).
      */
     @JacksonXmlProperty(localName = "arresAfaAlap", namespace = "http://www.szamlazz.hu/xmlszamla")
-    private Double marginVatBase;
+    private BigDecimal marginVatBase;
 
     /**
      * Net total price for the item (quantity * unit price), excluding VAT.
      */
     @JacksonXmlProperty(localName = "nettoErtek", namespace = "http://www.szamlazz.hu/xmlszamla")
-    private Double netPrice;
+    private BigDecimal netPrice;
 
     /**
      * VAT amount calculated for this item.
      */
     @JacksonXmlProperty(localName = "afaErtek", namespace = "http://www.szamlazz.hu/xmlszamla")
-    private Double vatAmount;
+    private BigDecimal vatAmount;
 
     /**
      * Total gross price for this item including VAT.
      */
     @JacksonXmlProperty(localName = "bruttoErtek", namespace = "http://www.szamlazz.hu/xmlszamla")
-    private Double totalPrice;
+    private BigDecimal totalPrice;
 
     /**
      * Optional note or comment about the item.
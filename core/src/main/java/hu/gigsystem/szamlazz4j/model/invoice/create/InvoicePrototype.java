@@ -0,0 +1,203 @@
+package hu.gigsystem.szamlazz4j.model.invoice.create;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * A template of invoices sharing the same settings, header and seller, of which only the customer and the items
+ * change from invoice to invoice.
+ *
+ * <p>The shared parts are completed with the data of the agent (credentials, bank details, signer) and serialized
+ * to XML once, when the prototype is built. Invoices created from the prototype only serialize their customer and
+ * items, and splice them after the pre-serialized parts, which saves most of the builder allocations and the reflective
+ * serialization of an invoice. The produced document is validated against the schema like any other request.</p>
+ *
+ * <p>A prototype is bound to the agent it was built for, and is immutable and thread-safe. As the header is fixed too,
+ * dates like {@code keltDatum} are the same for every invoice: build a new prototype when they change (e.g. daily),
+ * or give the header per invoice with {@link #create(InvoiceHeader, InvoiceRequest.Customer, List)}.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * InvoicePrototype prototype = InvoicePrototype.builder()
+ *         .agent(agent)
+ *         .settings(InvoiceSettings.builder().electornicInvoice(true).build())
+ *         .header(InvoiceHeader.builder()
+ *                 .createdAt(today).paidAt(today).paymentDeadlineAt(today.plusDays(8))
+ *                 .paymentMethod("Átutalás")
+ *                 .build())
+ *         .seller(InvoiceRequest.Seller.builder().emailSubject("Számla").build())
+ *         .build();
+ *
+ * XmlInvoiceResponse response = agent.sendRequest(prototype.create(customer, items), XmlInvoiceResponse.class);
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+public class InvoicePrototype {
+
+    private static final String NAMESPACE = "http://www.szamlazz.hu/xmlszamla";
+
+    /**
+     * The agent the invoices of this prototype are sent with.
+     */
+    private final SzamlaAgent agent;
+
+    /**
+     * The settings of every invoice, completed with the credentials of the agent.
+     */
+    private final InvoiceSettings settings;
+
+    /**
+     * The header of every invoice, unless given per invoice.
+     */
+    private final InvoiceHeader header;
+
+    /**
+     * The seller of every invoice, completed with the defaults of the agent.
+     */
+    private final InvoiceRequest.Seller seller;
+
+    /**
+     * Optional freight letter of every invoice.
+     */
+    private final FreightLetter freightLetter;
+
+    /**
+     * Writes a header given per invoice.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ObjectWriter headerWriter;
+
+    /**
+     * Writes the per-invoice part of the document.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ObjectWriter bodyWriter;
+
+    /**
+     * The pre-serialized {@code beallitasok} element.
+     */
+    @Getter(AccessLevel.NONE)
+    private final String settingsXml;
+
+    /**
+     * The pre-serialized {@code fejlec} element of the prototype header.
+     */
+    @Getter(AccessLevel.NONE)
+    private final String headerXml;
+
+    /**
+     * The pre-serialized {@code elado} element.
+     */
+    @Getter(AccessLevel.NONE)
+    private final String sellerXml;
+
+    /**
+     * Constructs the prototype and serializes its shared parts. Used by Lombok, the serialized parts are not exposed via the builder.
+     *
+     * @param agent         the agent the invoices are sent with (must not be null)
+     * @param settings      the settings of every invoice (must not be null)
+     * @param header        the header of every invoice (must not be null)
+     * @param seller        the seller of every invoice, an empty one if {@code null}
+     * @param freightLetter optional freight letter of every invoice
+     * @throws IllegalArgumentException if the shared parts cannot be serialized
+     */
+    @Builder(builderClassName = "Builder")
+    protected InvoicePrototype(@NonNull SzamlaAgent agent, @NonNull InvoiceSettings settings, @NonNull InvoiceHeader header, InvoiceRequest.Seller seller, FreightLetter freightLetter) {
+        this.agent = agent;
+        this.settings = settings;
+        this.header = header;
+        this.seller = seller == null ? InvoiceRequest.Seller.builder().build() : seller;
+        this.freightLetter = freightLetter;
+        this.settings.setAgent(agent);
+        this.seller.setAgent(agent);
+
+        ObjectWriter fragment = agent.getMapping().getWriter().without(ToXmlGenerator.Feature.WRITE_XML_DECLARATION);
+        this.headerWriter = fragment.forType(InvoiceHeader.class).withRootName(PropertyName.construct("fejlec", NAMESPACE));
+        this.bodyWriter = fragment.forType(Body.class).withRootName(PropertyName.construct("xmlszamla", NAMESPACE));
+        try {
+            this.settingsXml = fragment.forType(InvoiceSettings.class).withRootName(PropertyName.construct("beallitasok", NAMESPACE)).writeValueAsString(this.settings);
+            this.headerXml = headerWriter.writeValueAsString(header);
+            this.sellerXml = fragment.forType(InvoiceRequest.Seller.class).withRootName(PropertyName.construct("elado", NAMESPACE)).writeValueAsString(this.seller);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invoice prototype cannot be serialized!", e);
+        }
+    }
+
+    /**
+     * Creates an invoice of this prototype.
+     *
+     * @param customer the customer of the invoice (must not be null)
+     * @param items    the items of the invoice (must not be null)
+     * @return the request to send with the agent of this prototype
+     */
+    public InvoiceRequest create(@NonNull InvoiceRequest.Customer customer, @NonNull List<InvoiceItem> items) {
+        return new PrototypeInvoiceRequest(this, header, customer, items);
+    }
+
+    /**
+     * Creates an invoice of this prototype with its own header, e.g. for a different date or order number.
+     * The header is serialized per invoice, the settings and the seller are still shared.
+     *
+     * @param header   the header of the invoice (must not be null)
+     * @param customer the customer of the invoice (must not be null)
+     * @param items    the items of the invoice (must not be null)
+     * @return the request to send with the agent of this prototype
+     */
+    public InvoiceRequest create(@NonNull InvoiceHeader header, @NonNull InvoiceRequest.Customer customer, @NonNull List<InvoiceItem> items) {
+        return new PrototypeInvoiceRequest(this, header, customer, items);
+    }
+
+    /**
+     * Serializes an invoice of this prototype: the per-invoice part is written as a whole document,
+     * and the shared parts are inserted right after its root start tag.
+     */
+    String toXml(PrototypeInvoiceRequest request) throws JsonProcessingException {
+        String head = request.getHeader() == header ? headerXml : headerWriter.writeValueAsString(request.getHeader());
+        String body = bodyWriter.writeValueAsString(new Body(request.getCustomer(), freightLetter, request.getItems()));
+        int split = body.indexOf('>') + 1;
+
+        StringBuilder xml = new StringBuilder(64 + settingsXml.length() + head.length() + sellerXml.length() + body.length());
+        xml.append("<?xml version='1.0' encoding='UTF-8'?>");
+        xml.append(body, 0, split);
+        xml.append(settingsXml).append(head).append(sellerXml);
+        xml.append(body, split, body.length());
+        return xml.toString();
+    }
+
+    /**
+     * The per-invoice elements, in the order of the schema.
+     */
+    private static final class Body {
+
+        @JacksonXmlProperty(localName = "vevo", namespace = NAMESPACE)
+        private final InvoiceRequest.Customer customer;
+
+        @JacksonXmlProperty(localName = "fuvarlevel", namespace = NAMESPACE)
+        private final FreightLetter freightLetter;
+
+        @JacksonXmlElementWrapper(localName = "tetelek", namespace = NAMESPACE)
+        @JacksonXmlProperty(localName = "tetel", namespace = NAMESPACE)
+        private final List<InvoiceItem> items;
+
+        private Body(InvoiceRequest.Customer customer, FreightLetter freightLetter, List<InvoiceItem> items) {
+            this.customer = customer;
+            this.freightLetter = freightLetter;
+            this.items = items;
+        }
+    }
+}
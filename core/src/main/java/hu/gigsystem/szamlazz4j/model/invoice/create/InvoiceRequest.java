@@ -1,16 +1,21 @@
 package hu.gigsystem.szamlazz4j.model.invoice.create;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import hu.gigsystem.szamlazz4j.SzamlaAgent;
 import hu.gigsystem.szamlazz4j.model.BaseRequest;
+import hu.gigsystem.szamlazz4j.model.HeaderResponseRequest;
 import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.request.RawResponse;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -31,9 +36,10 @@ import java.util.List;
  * @version 1.0.0
  * @since 3rd of July, 2025
  */
+@Getter
 @Builder
 @JacksonXmlRootElement(localName = "xmlszamla", namespace = "http://www.szamlazz.hu/xmlszamla")
-public class InvoiceRequest extends BaseRequest<XmlInvoiceResponse> {
+public class InvoiceRequest extends BaseRequest<XmlInvoiceResponse> implements HeaderResponseRequest<XmlInvoiceResponse> {
 
     /**
      * Invoice settings containing authentication and behavior options.
@@ -103,6 +109,30 @@ public class InvoiceRequest extends BaseRequest<XmlInvoiceResponse> {
         this.seller.setAgent(agent);
     }
 
+    /**
+     * Tells whether the result is returned in the HTTP headers, if the settings ask for {@link InvoiceSettings#ANSWER_HEADERS}.
+     * The response is then built from the headers, and no XML is parsed.
+     *
+     * @return {@code true} if the settings ask for a header response
+     */
+    @Override
+    @JsonIgnore
+    public boolean isHeaderResponse() {
+        return settings != null && settings.isHeaderResponse();
+    }
+
+    /**
+     * Builds the response from the {@code szlahu_*} headers.
+     *
+     * @param response the raw response
+     * @return the response
+     * @throws IOException if the headers report no result or cannot be parsed
+     */
+    @Override
+    public XmlInvoiceResponse readHeaders(RawResponse response) throws IOException {
+        return XmlInvoiceResponse.fromHeaders(response);
+    }
+
     /**
      * Seller details for the invoice.
      *
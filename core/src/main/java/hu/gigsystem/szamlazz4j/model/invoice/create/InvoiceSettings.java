@@ -1,5 +1,6 @@
 package hu.gigsystem.szamlazz4j.model.invoice.create;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import hu.gigsystem.szamlazz4j.SzamlaAgent;
 import lombok.Builder;
@@ -21,6 +22,16 @@ import lombok.Builder;
 @Builder
 public class InvoiceSettings {
 
+    /**
+     * Response version returning the result in the {@code szlahu_*} HTTP headers, and the PDF, if downloaded, as the raw body.
+     */
+    public static final int ANSWER_HEADERS = 1;
+
+    /**
+     * Response version returning the result, and the PDF, if downloaded, in an XML body.
+     */
+    public static final int ANSWER_XML = 2;
+
     /**
      * The API key used for authentication.
      */
@@ -57,12 +68,13 @@ public class InvoiceSettings {
     private Integer downloadInvoiceNumber;
 
     /**
-     * The version of the response expected from the API.
-     * Must be {@code 2}.
+     * The version of the response expected from the API:
+     * {@link #ANSWER_XML} (default) for an XML response, or {@link #ANSWER_HEADERS} for the result in the HTTP headers,
+     * which is read without parsing any XML (see {@link InvoiceRequest#isHeaderResponse()}).
      */
     @Builder.Default
     @JacksonXmlProperty(localName = "valaszVerzio", namespace = "http://www.szamlazz.hu/xmlszamla")
-    private final Integer answerType = 2;
+    private final Integer answerType = ANSWER_XML;
 
     /**
      * Optional aggregator identifier, if used.
@@ -95,4 +107,14 @@ public class InvoiceSettings {
         this.username = agent.getUsername();
         this.password = agent.getPassword();
     }
+
+    /**
+     * Tells whether the result is returned in the HTTP headers.
+     *
+     * @return {@code true} if the answer type is {@link #ANSWER_HEADERS}
+     */
+    @JsonIgnore
+    public boolean isHeaderResponse() {
+        return answerType != null && answerType == ANSWER_HEADERS;
+    }
 }
@@ -0,0 +1,249 @@
+package hu.gigsystem.szamlazz4j.model.invoice.create;
+
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.model.invoice.query.response.InvoiceSum;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes the net, VAT and gross totals of an invoice on the client side, before it is sent to the Számlázz.hu API.
+ * <p>
+ * Line values are calculated the same way as Számlázz.hu does: the net value is {@code quantity × net unit price},
+ * the VAT value is {@code net value × VAT rate / 100}, and both are rounded to {@link #scale} decimals
+ * using {@link #roundingMode}. The gross value is the sum of the rounded net and VAT values, and the invoice totals
+ * are the sums of the rounded line values, so they reconcile with the line items exactly.
+ * </p>
+ * <p>
+ * Numeric VAT rates (e.g. {@code "27"}, {@code "5"}) are applied as percentages; every {@code InvoiceItem.VAT_*}
+ * code (e.g. {@code AAM}, {@code TAM}, {@code EUT}) carries no VAT and is grouped under its own code.
+ * Items using the margin scheme ({@code arresAfaAlap}) are taken at the values set on the item.
+ * </p>
+ * <p>
+ * The calculator is stateless and thread-safe. The result has the same structure as the {@link InvoiceSum}
+ * returned by an invoice query, so locally computed totals can be compared to the server's.
+ * </p>
+ *
+ * <pre>{@code
+ * InvoiceTotalsCalculator calculator = InvoiceTotalsCalculator.builder().build();
+ * InvoiceSum sum = calculator.calculate(request);
+ * XmlInvoiceResponse response = agent.sendRequest(request, XmlInvoiceResponse.class);
+ * if (!calculator.matches(sum, response)) {
+ *     // totals differ
+ * }
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder
+public class InvoiceTotalsCalculator {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Number of decimals line values are rounded to. Defaults to {@code 2}.
+     */
+    @Builder.Default
+    private final int scale = 2;
+
+    /**
+     * Rounding mode applied to line values. Defaults to {@link RoundingMode#HALF_UP}.
+     */
+    @Builder.Default
+    private final RoundingMode roundingMode = RoundingMode.HALF_UP;
+
+    /**
+     * Calculates the totals of every item in the given invoice request.
+     *
+     * @param request the invoice request
+     * @return the totals grouped by VAT rate and in total
+     * @throws IllegalArgumentException if an item has an unknown VAT rate or is missing its price
+     */
+    public InvoiceSum calculate(InvoiceRequest request) {
+        List<InvoiceItem> items = request.getItems();
+        return calculate(items == null ? List.of() : items);
+    }
+
+    /**
+     * Calculates the totals of the given items.
+     *
+     * @param items the invoice items
+     * @return the totals grouped by VAT rate and in total
+     * @throws IllegalArgumentException if an item has an unknown VAT rate or is missing its price
+     */
+    public InvoiceSum calculate(List<InvoiceItem> items) {
+        Map<String, Group> groups = new LinkedHashMap<>(4);
+        for (InvoiceItem item : items) {
+            Group group = groups.computeIfAbsent(item.getVatRate(), Group::new);
+            if (item.getMarginVatBase() != null) {
+                group.add(required(item.getNetPrice(), item), required(item.getVatAmount(), item), required(item.getTotalPrice(), item));
+                continue;
+            }
+            BigDecimal net = net(item);
+            BigDecimal vat = vat(net, group.rate);
+            group.add(net, vat, net.add(vat));
+        }
+
+        List<InvoiceSum.VatSum> vatSums = new ArrayList<>(groups.size());
+        BigDecimal net = BigDecimal.ZERO;
+        BigDecimal vat = BigDecimal.ZERO;
+        BigDecimal total = BigDecimal.ZERO;
+        for (Group group : groups.values()) {
+            vatSums.add(new InvoiceSum.VatSum(group.code, group.net, group.vat, group.total));
+            net = net.add(group.net);
+            vat = vat.add(group.vat);
+            total = total.add(group.total);
+        }
+        return new InvoiceSum(vatSums, new InvoiceSum.TotalSum(net, vat, total));
+    }
+
+    /**
+     * Calculates the rounded net, VAT and gross values of a single line, e.g. to fill
+     * {@code nettoErtek}, {@code afaErtek} and {@code bruttoErtek} when building an {@link InvoiceItem}.
+     *
+     * @param quantity     the quantity of the item
+     * @param netUnitPrice the net unit price of the item
+     * @param vatRate      a numeric VAT rate or one of the {@code InvoiceItem.VAT_*} codes
+     * @return the rounded line values
+     * @throws IllegalArgumentException if the VAT rate is unknown
+     */
+    public LineTotal line(BigDecimal quantity, BigDecimal netUnitPrice, String vatRate) {
+        BigDecimal net = quantity.multiply(netUnitPrice).setScale(scale, roundingMode);
+        BigDecimal vat = vat(net, parseRate(vatRate));
+        return new LineTotal(net, vat, net.add(vat));
+    }
+
+    /**
+     * Checks whether locally calculated totals match the totals returned by the API for the created invoice.
+     * Amounts are compared by value, so {@code 100} and {@code 100.00} are equal.
+     *
+     * @param sum      the locally calculated totals
+     * @param response the response of the invoice creation
+     * @return {@code true} if both the net and gross totals match
+     */
+    public boolean matches(InvoiceSum sum, XmlInvoiceResponse response) {
+        InvoiceSum.TotalSum totalSum = sum.getTotalSum();
+        return equal(totalSum.getNetPrice(), response.getPriceTotalExclTax())
+                && equal(totalSum.getTotal(), response.getPriceTotal());
+    }
+
+    private BigDecimal net(InvoiceItem item) {
+        if (item.getQuantity() != null && item.getNetUnitPrice() != null) {
+            return item.getQuantity().multiply(item.getNetUnitPrice()).setScale(scale, roundingMode);
+        }
+        return required(item.getNetPrice(), item).setScale(scale, roundingMode);
+    }
+
+    private BigDecimal vat(BigDecimal net, BigDecimal rate) {
+        if (rate.signum() == 0) {
+            return BigDecimal.ZERO.setScale(scale, roundingMode);
+        }
+        return net.multiply(rate).divide(HUNDRED, scale, roundingMode);
+    }
+
+    private static BigDecimal required(BigDecimal value, InvoiceItem item) {
+        if (value == null) {
+            throw new IllegalArgumentException("Invoice item '" + item.getName() + "' has no price to calculate with!");
+        }
+        return value;
+    }
+
+    private static boolean equal(BigDecimal a, BigDecimal b) {
+        return a != null && b != null && a.compareTo(b) == 0;
+    }
+
+    /**
+     * Parses a VAT rate into a percentage.
+     *
+     * @param vatRate a numeric VAT rate or one of the {@code InvoiceItem.VAT_*} codes
+     * @return the VAT percentage, {@code 0} for VAT codes
+     * @throws IllegalArgumentException if the VAT rate is neither numeric nor a known code
+     */
+    static BigDecimal parseRate(String vatRate) {
+        if (vatRate == null) {
+            throw new IllegalArgumentException("VAT rate is required to calculate totals!");
+        }
+        if (VatCodes.CODES.contains(vatRate)) {
+            return BigDecimal.ZERO;
+        }
+        try {
+            return new BigDecimal(vatRate);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown VAT rate: " + vatRate, e);
+        }
+    }
+
+    /**
+     * The rounded net, VAT and gross values of a single invoice line.
+     *
+     * @author Tamás Tóth
+     * @version 1.0.0
+     * @since 19th of October, 2026
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class LineTotal {
+
+        /**
+         * Net value of the line.
+         */
+        private final BigDecimal netPrice;
+
+        /**
+         * VAT value of the line.
+         */
+        private final BigDecimal vatAmount;
+
+        /**
+         * Gross value of the line.
+         */
+        private final BigDecimal totalPrice;
+    }
+
+    /**
+     * Running totals of one VAT rate group. Mutated in place so that a line only allocates its own values.
+     */
+    private static final class Group {
+        private final String code;
+        private final BigDecimal rate;
+        private BigDecimal net = BigDecimal.ZERO;
+        private BigDecimal vat = BigDecimal.ZERO;
+        private BigDecimal total = BigDecimal.ZERO;
+
+        private Group(String code) {
+            this.code = code;
+            this.rate = parseRate(code);
+        }
+
+        private void add(BigDecimal net, BigDecimal vat, BigDecimal total) {
+            this.net = this.net.add(net);
+            this.vat = this.vat.add(vat);
+            this.total = this.total.add(total);
+        }
+    }
+
+    /**
+     * The VAT codes which carry no VAT, resolved lazily from the {@code InvoiceItem.VAT_*} constants.
+     */
+    private static final class VatCodes {
+        private static final Set<String> CODES = new HashSet<>(Arrays.asList(
+                InvoiceItem.VAT_TEHK, InvoiceItem.VAT_TAHK, InvoiceItem.VAT_TAM, InvoiceItem.VAT_AAM,
+                InvoiceItem.VAT_EUT, InvoiceItem.VAT_EUKT, InvoiceItem.VAT_F_AFA, InvoiceItem.VAT_K_AFA,
+                InvoiceItem.VAT_HO, InvoiceItem.VAT_EUE, InvoiceItem.VAT_EUFADE, InvoiceItem.VAT_EUFAD37,
+                InvoiceItem.VAT_ATK, InvoiceItem.VAT_NAM, InvoiceItem.VAT_EAM, InvoiceItem.VAT_KBAUK,
+                InvoiceItem.VAT_KBAET));
+    }
+}
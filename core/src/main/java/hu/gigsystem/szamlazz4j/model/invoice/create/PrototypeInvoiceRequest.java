@@ -0,0 +1,43 @@
+package hu.gigsystem.szamlazz4j.model.invoice.create;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.model.XmlMapping;
+
+import java.util.List;
+
+/**
+ * An invoice created from an {@link InvoicePrototype}, serialized by splicing its customer and items
+ * after the pre-serialized shared parts of the prototype.
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+class PrototypeInvoiceRequest extends InvoiceRequest {
+
+    private final InvoicePrototype prototype;
+
+    PrototypeInvoiceRequest(InvoicePrototype prototype, InvoiceHeader header, Customer customer, List<InvoiceItem> items) {
+        super(prototype.getSettings(), header, prototype.getSeller(), customer, prototype.getFreightLetter(), items);
+        this.prototype = prototype;
+    }
+
+    /**
+     * The shared parts were already completed with the data of the prototype's agent.
+     *
+     * @param agent the agent instance
+     * @throws IllegalArgumentException if the agent is not the one the prototype was built for
+     */
+    @Override
+    public void setAgent(SzamlaAgent agent) {
+        if (agent != prototype.getAgent()) {
+            throw new IllegalArgumentException("The invoice prototype was built for another agent!");
+        }
+    }
+
+    @Override
+    public String toXml(XmlMapping mapping) throws JsonProcessingException {
+        return prototype.toXml(this);
+    }
+}
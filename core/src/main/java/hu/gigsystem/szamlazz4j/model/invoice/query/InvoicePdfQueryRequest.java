@@ -1,12 +1,19 @@
 package hu.gigsystem.szamlazz4j.model.invoice.query;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import hu.gigsystem.szamlazz4j.SzamlaAgent;
 import hu.gigsystem.szamlazz4j.model.BaseRequest;
+import hu.gigsystem.szamlazz4j.model.HeaderResponseRequest;
+import hu.gigsystem.szamlazz4j.request.Priority;
 import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.request.RawResponse;
 import lombok.Builder;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 /**
  * Represents a request to generate or retrieve a PDF version of an invoice
  * from the Számlázz.hu API.
@@ -22,7 +29,17 @@ import lombok.Builder;
  */
 @Builder
 @JacksonXmlRootElement(localName = "xmlszamlapdf", namespace = "http://www.szamlazz.hu/xmlszamlapdf")
-public class InvoicePdfQueryRequest extends BaseRequest<XmlInvoiceResponse> {
+public class InvoicePdfQueryRequest extends BaseRequest<XmlInvoiceResponse> implements HeaderResponseRequest<XmlInvoiceResponse> {
+
+    /**
+     * Response version returning the raw PDF as the body, and the result in the {@code szlahu_*} headers.
+     */
+    public static final int RESPONSE_PDF = 1;
+
+    /**
+     * Response version returning the PDF Base64 encoded in an XML response.
+     */
+    public static final int RESPONSE_XML = 2;
 
     /**
      * The agent key for authenticating with the Számlázz.hu API.
@@ -46,10 +63,12 @@ public class InvoicePdfQueryRequest extends BaseRequest<XmlInvoiceResponse> {
     private String invoiceNumber;
 
     /**
-     * The response version to be used, must always be 2.
+     * The response version to be used: {@link #RESPONSE_XML} (default) for the PDF Base64 encoded in an XML response,
+     * or {@link #RESPONSE_PDF} for the raw PDF as the response body (see {@link SzamlaAgent#downloadPdf(InvoicePdfQueryRequest, java.io.OutputStream)}).
      */
+    @Builder.Default
     @JacksonXmlProperty(localName = "valaszVerzio", namespace = "http://www.szamlazz.hu/xmlszamlapdf")
-    private final Integer responseVersion = 2;
+    private final Integer responseVersion = RESPONSE_XML;
 
     /**
      * Optional order number associated with the invoice.
@@ -71,12 +90,62 @@ public class InvoicePdfQueryRequest extends BaseRequest<XmlInvoiceResponse> {
      * @param invoiceExternalId the external invoice ID (optional)
      */
     public InvoicePdfQueryRequest(String keyIgnored, String usernameIgnored, String passwordIgnored, String invoiceNumber, String orderNumber, String invoiceExternalId) {
+        this(keyIgnored, usernameIgnored, passwordIgnored, invoiceNumber, RESPONSE_XML, orderNumber, invoiceExternalId);
+    }
+
+    /**
+     * Constructs a new {@code InvoicePdfRequest} with the given response version. Used by Lombok.
+     *
+     * @param invoiceNumber     the invoice number
+     * @param responseVersion   {@link #RESPONSE_XML} or {@link #RESPONSE_PDF}, {@link #RESPONSE_XML} if {@code null}
+     * @param orderNumber       the order number (optional)
+     * @param invoiceExternalId the external invoice ID (optional)
+     */
+    public InvoicePdfQueryRequest(String keyIgnored, String usernameIgnored, String passwordIgnored, String invoiceNumber, Integer responseVersion, String orderNumber, String invoiceExternalId) {
         super("action-szamla_agent_pdf", "xmlszamlapdf.xml");
         this.invoiceNumber = invoiceNumber;
+        this.responseVersion = responseVersion == null ? RESPONSE_XML : responseVersion;
         this.orderNumber = orderNumber;
         this.invoiceExternalId = invoiceExternalId;
     }
 
+    /**
+     * Returns a copy of this request asking for the raw PDF as the response body.
+     *
+     * @return this request if it already asks for the raw PDF, a copy otherwise
+     */
+    public InvoicePdfQueryRequest toBinary() {
+        if (responseVersion == RESPONSE_PDF) {
+            return this;
+        }
+        return new InvoicePdfQueryRequest(null, null, null, invoiceNumber, RESPONSE_PDF, orderNumber, invoiceExternalId);
+    }
+
+    /**
+     * Tells whether the raw PDF is asked for, whose result is returned in the {@code szlahu_*} headers.
+     * Sent with {@link SzamlaAgent#sendRequest}, the PDF is then read into {@link XmlInvoiceResponse#getPdf()};
+     * {@link SzamlaAgent#downloadPdf(InvoicePdfQueryRequest, java.io.OutputStream)} streams it instead.
+     *
+     * @return {@code true} if the response version is {@link #RESPONSE_PDF}
+     */
+    @JsonIgnore
+    @Override
+    public boolean isHeaderResponse() {
+        return responseVersion == RESPONSE_PDF;
+    }
+
+    /**
+     * Builds the response from the {@code szlahu_*} headers, with the PDF body.
+     *
+     * @param response the raw response
+     * @return the response
+     * @throws IOException if the headers report no result, or the PDF cannot be read
+     */
+    @Override
+    public XmlInvoiceResponse readHeaders(RawResponse response) throws IOException {
+        return XmlInvoiceResponse.fromHeaders(response, true);
+    }
+
     /**
      * Sets the Számlázz.hu agent credentials to this request.
      *
@@ -88,4 +157,37 @@ public class InvoicePdfQueryRequest extends BaseRequest<XmlInvoiceResponse> {
         this.username = agent.getUsername();
         this.password = agent.getPassword();
     }
+
+    /**
+     * Queries are read-only, so they can be hedged.
+     *
+     * @return always {@code true}
+     */
+    @JsonIgnore
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
+    /**
+     * Queries of the same invoice are identical.
+     *
+     * @return the request type and the invoice identifiers
+     */
+    @JsonIgnore
+    @Override
+    public Object getIdempotencyKey() {
+        return Arrays.asList(getFileName(), responseVersion, invoiceNumber, orderNumber, invoiceExternalId);
+    }
+
+    /**
+     * PDF downloads are typically requested by a user waiting for the document.
+     *
+     * @return {@link Priority#INTERACTIVE}
+     */
+    @JsonIgnore
+    @Override
+    public Priority getDefaultPriority() {
+        return Priority.INTERACTIVE;
+    }
 }
@@ -1,12 +1,16 @@
 package hu.gigsystem.szamlazz4j.model.invoice.query;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import hu.gigsystem.szamlazz4j.SzamlaAgent;
 import hu.gigsystem.szamlazz4j.model.BaseRequest;
+import hu.gigsystem.szamlazz4j.request.Priority;
 import hu.gigsystem.szamlazz4j.model.invoice.query.response.FullInvoiceResponse;
 import lombok.Builder;
 
+import java.util.Arrays;
+
 /**
  * Represents a request to query a full invoice from the Számlázz.hu system.
  * This request corresponds to the {@code xmlszamlaxml} endpoint and is used
@@ -75,4 +79,37 @@ public class InvoiceQueryRequest extends BaseRequest<FullInvoiceResponse> {
         this.username = agent.getUsername();
         this.password = agent.getPassword();
     }
+
+    /**
+     * Queries are read-only, so they can be hedged.
+     *
+     * @return always {@code true}
+     */
+    @JsonIgnore
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
+    /**
+     * Queries of the same invoice are identical.
+     *
+     * @return the request type and the invoice identifiers
+     */
+    @JsonIgnore
+    @Override
+    public Object getIdempotencyKey() {
+        return Arrays.asList(getFileName(), invoiceNumber, orderNumber);
+    }
+
+    /**
+     * Invoice queries are typically made while a user is waiting for the invoice details.
+     *
+     * @return {@link Priority#INTERACTIVE}
+     */
+    @JsonIgnore
+    @Override
+    public Priority getDefaultPriority() {
+        return Priority.INTERACTIVE;
+    }
 }
@@ -1,8 +1,12 @@
 package hu.gigsystem.szamlazz4j.model.invoice.query.response;
 
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import hu.gigsystem.szamlazz4j.model.StaxSupport;
 import lombok.Getter;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 /**
  * Represents a postal address, used for billing or shipping purposes.
  * <p>
@@ -44,4 +48,18 @@ public class Address {
          */
         @JacksonXmlProperty(localName = "cim")
         private String address;
+
+    static Address read(XMLStreamReader reader) throws XMLStreamException {
+        Address address = new Address();
+        while (StaxSupport.nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "orszag" -> address.country = StaxSupport.text(reader);
+                case "irsz" -> address.postCode = StaxSupport.text(reader);
+                case "telepules" -> address.city = StaxSupport.text(reader);
+                case "cim" -> address.address = StaxSupport.text(reader);
+                default -> StaxSupport.skip(reader);
+            }
+        }
+        return address;
+    }
 }
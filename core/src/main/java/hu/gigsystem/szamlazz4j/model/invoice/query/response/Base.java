@@ -2,9 +2,13 @@ package hu.gigsystem.szamlazz4j.model.invoice.query.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import hu.gigsystem.szamlazz4j.model.StaxSupport;
 import hu.gigsystem.szamlazz4j.model.invoice.enums.InvoiceLanguage;
 import lombok.Getter;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -110,7 +114,7 @@ public class Base {
      * Mapped to the XML element {@code <devizaarf>}.
      */
     @JacksonXmlProperty(localName = "devizaarf")
-    private Double exchangeRate;
+    private BigDecimal exchangeRate;
 
     /**
      * Optional note or comment added to the invoice.
@@ -146,4 +150,31 @@ public class Base {
      */
     @JacksonXmlProperty(localName = "tesyt")
     private Boolean testMode;
+
+    static Base read(XMLStreamReader reader) throws XMLStreamException {
+        Base base = new Base();
+        while (StaxSupport.nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "id" -> base.id = StaxSupport.text(reader);
+                case "szamlaszam" -> base.invoiceNumber = StaxSupport.text(reader);
+                case "tipus" -> base.type = StaxSupport.text(reader);
+                case "eszamla" -> base.electronicInvoice = StaxSupport.integer(reader);
+                case "kelt" -> base.createdAt = StaxSupport.date(reader);
+                case "telj" -> base.paidAt = StaxSupport.date(reader);
+                case "fizh" -> base.paymentDeadlineAt = StaxSupport.date(reader);
+                case "fizmod" -> base.paymentMethod = StaxSupport.text(reader);
+                case "fizmodunified" -> base.paymentMethodUnified = StaxSupport.text(reader);
+                case "nyelv" -> base.language = StaxSupport.language(reader);
+                case "devizanem" -> base.currency = StaxSupport.text(reader);
+                case "devizaarf" -> base.exchangeRate = StaxSupport.decimal(reader);
+                case "megjegyzes" -> base.note = StaxSupport.text(reader);
+                case "penzforg" -> base.cashFlow = StaxSupport.bool(reader);
+                case "kata" -> base.kata = StaxSupport.bool(reader);
+                case "email" -> base.email = StaxSupport.text(reader);
+                case "tesyt" -> base.testMode = StaxSupport.bool(reader);
+                default -> StaxSupport.skip(reader);
+            }
+        }
+        return base;
+    }
 }
@@ -1,8 +1,12 @@
 package hu.gigsystem.szamlazz4j.model.invoice.query.response;
 
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import hu.gigsystem.szamlazz4j.model.StaxSupport;
 import lombok.Getter;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 /**
  * Represents a customer entity used in invoicing, including contact, address, and ledger information.
  * <p>
@@ -81,5 +85,33 @@ public class Customer {
          */
         @JacksonXmlProperty(localName = "vevoazon")
         private String customerId;
+
+        static Ledger read(XMLStreamReader reader) throws XMLStreamException {
+            Ledger ledger = new Ledger();
+            while (StaxSupport.nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "vevo" -> ledger.customer = StaxSupport.text(reader);
+                    case "vevoazon" -> ledger.customerId = StaxSupport.text(reader);
+                    default -> StaxSupport.skip(reader);
+                }
+            }
+            return ledger;
+        }
+    }
+
+    static Customer read(XMLStreamReader reader) throws XMLStreamException {
+        Customer customer = new Customer();
+        while (StaxSupport.nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "id" -> customer.id = StaxSupport.text(reader);
+                case "nev" -> customer.name = StaxSupport.text(reader);
+                case "cim" -> customer.address = Address.read(reader);
+                case "email" -> customer.email = StaxSupport.text(reader);
+                case "adoszam" -> customer.taxNumber = StaxSupport.text(reader);
+                case "fokonyv" -> customer.ledger = Ledger.read(reader);
+                default -> StaxSupport.skip(reader);
+            }
+        }
+        return customer;
     }
 }
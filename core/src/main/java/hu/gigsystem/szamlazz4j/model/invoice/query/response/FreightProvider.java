@@ -1,8 +1,12 @@
 package hu.gigsystem.szamlazz4j.model.invoice.query.response;
 
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import hu.gigsystem.szamlazz4j.model.StaxSupport;
 import lombok.Getter;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 /**
  * Represents a freight provider, including identification, address, tax, and banking information.
  * <p>
@@ -81,5 +85,33 @@ public class FreightProvider {
          */
         @JacksonXmlProperty(localName = "bankszamla")
         private String bankNumber;
+
+        static Bank read(XMLStreamReader reader) throws XMLStreamException {
+            Bank bank = new Bank();
+            while (StaxSupport.nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "nev" -> bank.name = StaxSupport.text(reader);
+                    case "bankszamla" -> bank.bankNumber = StaxSupport.text(reader);
+                    default -> StaxSupport.skip(reader);
+                }
+            }
+            return bank;
+        }
+    }
+
+    static FreightProvider read(XMLStreamReader reader) throws XMLStreamException {
+        FreightProvider provider = new FreightProvider();
+        while (StaxSupport.nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "id" -> provider.id = StaxSupport.text(reader);
+                case "nev" -> provider.name = StaxSupport.text(reader);
+                case "cim" -> provider.address = Address.read(reader);
+                case "adoszam" -> provider.taxNumber = StaxSupport.text(reader);
+                case "adoszameu" -> provider.taxNumberEu = StaxSupport.text(reader);
+                case "bank" -> provider.bank = Bank.read(reader);
+                default -> StaxSupport.skip(reader);
+            }
+        }
+        return provider;
     }
 }
@@ -4,8 +4,12 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import hu.gigsystem.szamlazz4j.model.BaseResponse;
+import hu.gigsystem.szamlazz4j.model.ResponseReader;
+import hu.gigsystem.szamlazz4j.model.StaxSupport;
 import lombok.Getter;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -30,6 +34,11 @@ import java.util.List;
 @JacksonXmlRootElement(localName = "szamla", namespace = "http://www.szamlazz.hu/szamla")
 public class FullInvoiceResponse extends BaseResponse {
 
+    /**
+     * Reads the response with StAX instead of the reflective binding of the mapper, see {@link ResponseReader#stax()}.
+     */
+    public static final ResponseReader<FullInvoiceResponse> READER = xml -> StaxSupport.read(xml, FullInvoiceResponse::read);
+
     /**
      * The freight provider (supplier) of the invoice.
      * Mapped to the XML element {@code <szallito>}.
@@ -106,4 +115,24 @@ public class FullInvoiceResponse extends BaseResponse {
             out.write(pdfData, 0, pdfData.length);
         }
     }
+
+    private static FullInvoiceResponse read(XMLStreamReader reader) throws XMLStreamException {
+        FullInvoiceResponse response = new FullInvoiceResponse();
+        while (StaxSupport.nextChild(reader)) {
+            if (response.readBaseElement(reader)) {
+                continue;
+            }
+            switch (reader.getLocalName()) {
+                case "szallito" -> response.freightProvider = FreightProvider.read(reader);
+                case "alap" -> response.base = Base.read(reader);
+                case "vevo" -> response.customer = Customer.read(reader);
+                case "tetelek" -> response.items = StaxSupport.list(reader, "tetel", InvoiceItem::read);
+                case "osszegek" -> response.invoiceSum = InvoiceSum.read(reader);
+                case "kifizetesek" -> response.payments = StaxSupport.list(reader, "kifizetes", Payment::read);
+                case "pdf" -> response.pdf = StaxSupport.text(reader);
+                default -> StaxSupport.skip(reader);
+            }
+        }
+        return response;
+    }
 }
@@ -1,8 +1,13 @@
 package hu.gigsystem.szamlazz4j.model.invoice.query.response;
 
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import hu.gigsystem.szamlazz4j.model.StaxSupport;
 import lombok.Getter;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.math.BigDecimal;
+
 /**
  * Represents a single line item on an invoice, including product or service details,
  * pricing, tax, and accounting ledger information.
@@ -26,7 +31,7 @@ public class InvoiceItem {
      * Mapped to the XML element {@code <mennyiseg>}.
      */
     @JacksonXmlProperty(localName = "mennyiseg")
-    private Double quantity;
+    private BigDecimal quantity;
 
     /**
      * The unit of measure for the quantity (e.g., pcs, kg).
@@ -40,7 +45,7 @@ public class InvoiceItem {
      * Mapped to the XML element {@code <nettoegysegar>}.
      */
     @JacksonXmlProperty(localName = "nettoegysegar")
-    private Double netUnitPrice;
+    private BigDecimal netUnitPrice;
 
     /**
      * The VAT rate applied to this item (e.g., 27%, 0%, M, AAM).
@@ -54,28 +59,28 @@ public class InvoiceItem {
      * Mapped to the XML element {@code <netto>}.
      */
     @JacksonXmlProperty(localName = "netto")
-    private Double netPrice;
+    private BigDecimal netPrice;
 
     /**
      * The base value used for margin-based VAT calculation (optional).
      * Mapped to the XML element {@code <arresafaalap>}.
      */
     @JacksonXmlProperty(localName = "arresafaalap")
-    private Double marginVatBase;
+    private BigDecimal marginVatBase;
 
     /**
      * The VAT amount applied to the item.
      * Mapped to the XML element {@code <afa>}.
      */
     @JacksonXmlProperty(localName = "afa")
-    private Double vatAmount;
+    private BigDecimal vatAmount;
 
     /**
      * The gross total (net + VAT) for this item.
      * Mapped to the XML element {@code <brutto>}.
      */
     @JacksonXmlProperty(localName = "brutto")
-    private Double total;
+    private BigDecimal total;
 
     /**
      * Optional comment or note associated with the invoice item.
@@ -133,5 +138,40 @@ public class InvoiceItem {
          */
         @JacksonXmlProperty(localName = "gazdasagiEsemAfa", namespace = "http://www.szamlazz.hu/xmlszamla")
         private String economicEventVat;
+
+        static Ledger read(XMLStreamReader reader) throws XMLStreamException {
+            Ledger ledger = new Ledger();
+            while (StaxSupport.nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "arbevetel" -> ledger.income = StaxSupport.text(reader);
+                    case "afa" -> ledger.vat = StaxSupport.text(reader);
+                    case "gazdasagiEsem" -> ledger.economicEvent = StaxSupport.text(reader);
+                    case "gazdasagiEsemAfa" -> ledger.economicEventVat = StaxSupport.text(reader);
+                    default -> StaxSupport.skip(reader);
+                }
+            }
+            return ledger;
+        }
+    }
+
+    static InvoiceItem read(XMLStreamReader reader) throws XMLStreamException {
+        InvoiceItem item = new InvoiceItem();
+        while (StaxSupport.nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "nev" -> item.name = StaxSupport.text(reader);
+                case "mennyiseg" -> item.quantity = StaxSupport.decimal(reader);
+                case "mennyisegiegyseg" -> item.quantityUnit = StaxSupport.text(reader);
+                case "nettoegysegar" -> item.netUnitPrice = StaxSupport.decimal(reader);
+                case "afakulcs" -> item.vatRate = StaxSupport.text(reader);
+                case "netto" -> item.netPrice = StaxSupport.decimal(reader);
+                case "arresafaalap" -> item.marginVatBase = StaxSupport.decimal(reader);
+                case "afa" -> item.vatAmount = StaxSupport.decimal(reader);
+                case "brutto" -> item.total = StaxSupport.decimal(reader);
+                case "megjegyzes" -> item.note = StaxSupport.text(reader);
+                case "fokonyv" -> item.ledger = Ledger.read(reader);
+                default -> StaxSupport.skip(reader);
+            }
+        }
+        return item;
     }
 }
@@ -1,7 +1,18 @@
 package hu.gigsystem.szamlazz4j.model.invoice.query.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import hu.gigsystem.szamlazz4j.model.StaxSupport;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents the summarized totals of an invoice, including VAT breakdown and grand totals.
@@ -15,14 +26,17 @@ import lombok.Getter;
  * @since 3rd of July, 2025
  */
 @Getter
+@NoArgsConstructor
+@AllArgsConstructor
 public class InvoiceSum {
 
     /**
-     * VAT breakdown for a specific VAT rate group.
-     * Mapped to the XML element {@code <afakulcsossz>}.
+     * VAT breakdown, one entry per VAT rate group.
+     * Mapped to the repeated XML element {@code <afakulcsossz>}.
      */
+    @JacksonXmlElementWrapper(useWrapping = false)
     @JacksonXmlProperty(localName = "afakulcsossz")
-    private VatSum vatSum;
+    private List<VatSum> vatSums;
 
     /**
      * Total summary of the invoice (net, VAT, gross).
@@ -31,10 +45,35 @@ public class InvoiceSum {
     @JacksonXmlProperty(localName = "totalossz")
     private TotalSum totalSum;
 
+    /**
+     * Returns the first VAT rate group, kept for invoices that only use a single VAT rate.
+     *
+     * @return the first VAT breakdown, or {@code null} if there is none
+     */
+    @JsonIgnore
+    public VatSum getVatSum() {
+        return vatSums == null || vatSums.isEmpty() ? null : vatSums.get(0);
+    }
+
+    static InvoiceSum read(XMLStreamReader reader) throws XMLStreamException {
+        InvoiceSum sum = new InvoiceSum();
+        sum.vatSums = new ArrayList<>();
+        while (StaxSupport.nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "afakulcsossz" -> sum.vatSums.add(VatSum.read(reader));
+                case "totalossz" -> sum.totalSum = TotalSum.read(reader);
+                default -> StaxSupport.skip(reader);
+            }
+        }
+        return sum;
+    }
+
     /**
      * Represents the total amounts across the invoice, including net, VAT, and gross sums.
      */
     @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class TotalSum {
 
         /**
@@ -42,27 +81,42 @@ public class InvoiceSum {
          * Mapped to the XML element {@code <netto>}.
          */
         @JacksonXmlProperty(localName = "netto")
-        private Double netPrice;
+        private BigDecimal netPrice;
 
         /**
          * The total VAT amount across all invoice items.
          * Mapped to the XML element {@code <afa>}.
          */
         @JacksonXmlProperty(localName = "afa")
-        private Double vatAmount;
+        private BigDecimal vatAmount;
 
         /**
          * The total gross amount (net + VAT) of the invoice.
          * Mapped to the XML element {@code <brutto>}.
          */
         @JacksonXmlProperty(localName = "brutto")
-        private Double total;
+        private BigDecimal total;
+
+        static TotalSum read(XMLStreamReader reader) throws XMLStreamException {
+            TotalSum sum = new TotalSum();
+            while (StaxSupport.nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "netto" -> sum.netPrice = StaxSupport.decimal(reader);
+                    case "afa" -> sum.vatAmount = StaxSupport.decimal(reader);
+                    case "brutto" -> sum.total = StaxSupport.decimal(reader);
+                    default -> StaxSupport.skip(reader);
+                }
+            }
+            return sum;
+        }
     }
 
     /**
      * Represents the VAT group summary, showing net, VAT, and gross for a specific VAT rate.
      */
     @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class VatSum {
 
         /**
@@ -77,20 +131,34 @@ public class InvoiceSum {
          * Mapped to the XML element {@code <netto>}.
          */
         @JacksonXmlProperty(localName = "netto")
-        private Double netPrice;
+        private BigDecimal netPrice;
 
         /**
          * The VAT amount corresponding to this VAT rate group.
          * Mapped to the XML element {@code <afa>}.
          */
         @JacksonXmlProperty(localName = "afa")
-        private Double vatAmount;
+        private BigDecimal vatAmount;
 
         /**
          * The total gross amount (net + VAT) under this VAT rate.
          * Mapped to the XML element {@code <brutto>}.
          */
         @JacksonXmlProperty(localName = "brutto")
-        private Double total;
+        private BigDecimal total;
+
+        static VatSum read(XMLStreamReader reader) throws XMLStreamException {
+            VatSum sum = new VatSum();
+            while (StaxSupport.nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "afakulcs" -> sum.vatRate = StaxSupport.text(reader);
+                    case "netto" -> sum.netPrice = StaxSupport.decimal(reader);
+                    case "afa" -> sum.vatAmount = StaxSupport.decimal(reader);
+                    case "brutto" -> sum.total = StaxSupport.decimal(reader);
+                    default -> StaxSupport.skip(reader);
+                }
+            }
+            return sum;
+        }
     }
 }
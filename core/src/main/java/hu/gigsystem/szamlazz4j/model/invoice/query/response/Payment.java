@@ -2,8 +2,12 @@ package hu.gigsystem.szamlazz4j.model.invoice.query.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import hu.gigsystem.szamlazz4j.model.StaxSupport;
 import lombok.Getter;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -41,7 +45,7 @@ public class Payment {
      * Mapped to the XML element {@code <osszeg>}.
      */
     @JacksonXmlProperty(localName = "osszeg")
-    private Double amount;
+    private BigDecimal amount;
 
     /**
      * Optional note or comment related to the payment.
@@ -56,4 +60,19 @@ public class Payment {
      */
     @JacksonXmlProperty(localName = "bankszamlaszam")
     private String bankNumber;
+
+    static Payment read(XMLStreamReader reader) throws XMLStreamException {
+        Payment payment = new Payment();
+        while (StaxSupport.nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "datum" -> payment.date = StaxSupport.date(reader);
+                case "jogcim" -> payment.claim = StaxSupport.text(reader);
+                case "osszeg" -> payment.amount = StaxSupport.decimal(reader);
+                case "megjegyzes" -> payment.note = StaxSupport.text(reader);
+                case "bankszamlaszam" -> payment.bankNumber = StaxSupport.text(reader);
+                default -> StaxSupport.skip(reader);
+            }
+        }
+        return payment;
+    }
 }
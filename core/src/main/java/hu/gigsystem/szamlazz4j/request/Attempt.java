@@ -0,0 +1,24 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import java.io.IOException;
+
+/**
+ * A single execution of an API call, used by {@link HedgePolicy} and {@link SingleFlight}
+ * to run, repeat or share calls of the {@link hu.gigsystem.szamlazz4j.SzamlaAgent}.
+ *
+ * @param <T> the type of the result
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@FunctionalInterface
+public interface Attempt<T> {
+
+    /**
+     * Performs the call.
+     *
+     * @return the result of the call
+     * @throws IOException if the call failed
+     */
+    T call() throws IOException;
+}
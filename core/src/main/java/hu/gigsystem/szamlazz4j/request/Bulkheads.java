@@ -0,0 +1,129 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation concurrency limits (bulkheads) for the calls of a {@link hu.gigsystem.szamlazz4j.SzamlaAgent}.
+ *
+ * <p>Each operation, identified by the {@linkplain hu.gigsystem.szamlazz4j.model.BaseRequest#getFileName() file name}
+ * of its requests, has its own pool of permits, so e.g. slow invoice creations cannot take all threads from PDF downloads
+ * or cancellations. A request whose pool is full waits at most {@link #maxWait}, then it is rejected with a
+ * {@link RequestRejectedException}.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * Bulkheads bulkheads = Bulkheads.builder()
+ *                                .defaultLimit(8)
+ *                                .limit("action-xmlagentxmlfile", 32)
+ *                                .limit("action-szamla_agent_pdf", 16)
+ *                                .build();
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder")
+public class Bulkheads {
+
+    /**
+     * The maximum number of concurrent calls of operations without an explicit limit.
+     */
+    @lombok.Builder.Default
+    private final int defaultLimit = 16;
+
+    /**
+     * The maximum number of concurrent calls by operation (request file name).
+     */
+    @Singular
+    private final Map<String, Integer> limits;
+
+    /**
+     * The maximum time a request waits for a free permit before it is rejected. Zero rejects immediately.
+     */
+    @lombok.Builder.Default
+    private final Duration maxWait = Duration.ZERO;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Semaphore> pools = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+
+    /**
+     * Takes a permit from the pool of the operation.
+     *
+     * @param fileName the operation of the request
+     * @throws RequestRejectedException if no permit became free in time
+     * @throws InterruptedIOException   if the thread was interrupted while waiting
+     */
+    public void acquire(String fileName) throws RequestRejectedException, InterruptedIOException {
+        boolean acquired;
+        try {
+            acquired = maxWait.isZero() ? pool(fileName).tryAcquire() : pool(fileName).tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a permit of " + fileName + "!");
+        }
+        if (!acquired) {
+            rejected.computeIfAbsent(fileName, ignored -> new LongAdder()).increment();
+            throw new RequestRejectedException("Bulkhead of " + fileName + " is full, request was not sent!");
+        }
+    }
+
+    /**
+     * Gives back a permit taken by {@link #acquire(String)}.
+     *
+     * @param fileName the operation of the request
+     */
+    public void release(String fileName) {
+        pool(fileName).release();
+    }
+
+    /**
+     * Returns the number of calls of the operation currently running.
+     *
+     * @param fileName the operation
+     * @return the number of permits in use
+     */
+    public int getActiveCount(String fileName) {
+        return getLimit(fileName) - pool(fileName).availablePermits();
+    }
+
+    /**
+     * Returns how many requests of the operation were rejected because its pool was full.
+     *
+     * @param fileName the operation
+     * @return the number of rejected requests
+     */
+    public long getRejectedCount(String fileName) {
+        LongAdder count = rejected.get(fileName);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Returns the concurrency limit of the operation.
+     *
+     * @param fileName the operation
+     * @return the configured limit, or {@link #defaultLimit}
+     */
+    public int getLimit(String fileName) {
+        return limits.getOrDefault(fileName, defaultLimit);
+    }
+
+    private Semaphore pool(String fileName) {
+        return pools.computeIfAbsent(fileName, name -> new Semaphore(getLimit(name)));
+    }
+}
@@ -0,0 +1,253 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker around the {@link Requester}, which stops sending requests while the Számlázz.hu API is failing,
+ * so callers fail fast instead of piling up on timeouts.
+ *
+ * <ul>
+ *   <li>{@link State#CLOSED} — requests are sent. After {@link #failureThreshold} consecutive failed calls the circuit opens.</li>
+ *   <li>{@link State#OPEN} — requests are rejected with a {@link RequestRejectedException} for {@link #openDuration}.</li>
+ *   <li>{@link State#HALF_OPEN} — at most {@link #halfOpenProbes} probe requests are let through.
+ *       If all of them succeed the circuit closes, if any fails it opens again.</li>
+ * </ul>
+ *
+ * <p>Only transport failures ({@link java.io.IOException}s of the requester, including timeouts) count as failures.
+ * Error responses of the API (e.g. a validation error of an invoice) are successful calls from the circuit's point of view.</p>
+ *
+ * <p>Every permitted call gets a {@link Permit} tagged with the generation of the circuit, which changes on every state
+ * transition. The outcome of a call is only recorded in the generation it was permitted in, so a slow call permitted
+ * while the circuit was closed is never counted as a half-open probe, and only probes give their slot back when cancelled.</p>
+ *
+ * <p>The breaker is thread-safe. State transitions are counted (see {@link #getTransitionCount(State)})
+ * and can be observed with a {@link Listener}, e.g. to export them as metrics.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder")
+public class CircuitBreaker {
+
+    /**
+     * The states of the circuit.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Listener of the state transitions of a circuit breaker.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called after the state of the circuit changed. Must not block, it is called while the breaker is locked.
+         *
+         * @param breaker the circuit breaker
+         * @param from    the previous state
+         * @param to      the new state
+         */
+        void onStateTransition(CircuitBreaker breaker, State from, State to);
+    }
+
+    /**
+     * The number of consecutive failed calls which opens the circuit.
+     */
+    @lombok.Builder.Default
+    private final int failureThreshold = 5;
+
+    /**
+     * The time requests are rejected for after the circuit opened, before probing the API again.
+     */
+    @lombok.Builder.Default
+    private final Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * The number of probe requests let through (and required to succeed) in the half-open state.
+     */
+    @lombok.Builder.Default
+    private final int halfOpenProbes = 1;
+
+    /**
+     * Optional listener notified of every state transition.
+     */
+    private final Listener listener;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<State, LongAdder> transitions = new EnumMap<>(Map.of(
+            State.CLOSED, new LongAdder(), State.OPEN, new LongAdder(), State.HALF_OPEN, new LongAdder()));
+
+    @Getter(AccessLevel.NONE)
+    private final LongAdder rejected = new LongAdder();
+
+    @Getter(AccessLevel.NONE)
+    private final Circuit circuit = new Circuit();
+
+    /**
+     * The permission to send a request, passed back with the outcome of the call.
+     */
+    public static final class Permit {
+        private final long generation;
+        private final boolean probe;
+
+        private Permit(long generation, boolean probe) {
+            this.generation = generation;
+            this.probe = probe;
+        }
+
+        /**
+         * Tells whether the call is a probe of the half-open circuit.
+         *
+         * @return {@code true} for a half-open probe
+         */
+        public boolean isProbe() {
+            return probe;
+        }
+    }
+
+    /**
+     * Asks for permission to send a request.
+     *
+     * @param fileName the action of the request, used in the exception message
+     * @return the permit to record the outcome of the call with
+     * @throws RequestRejectedException if the circuit is open, or all half-open probes are already in flight
+     */
+    public Permit acquirePermission(String fileName) throws RequestRejectedException {
+        synchronized (circuit) {
+            if (circuit.state == State.OPEN && System.nanoTime() - circuit.openedAt >= openDuration.toNanos()) {
+                transition(State.HALF_OPEN);
+            }
+            if (circuit.state == State.CLOSED) {
+                return new Permit(circuit.generation, false);
+            }
+            if (circuit.state == State.HALF_OPEN && circuit.probesStarted < halfOpenProbes) {
+                circuit.probesStarted++;
+                return new Permit(circuit.generation, true);
+            }
+        }
+        rejected.increment();
+        throw new RequestRejectedException("Circuit breaker is open, request " + fileName + " was not sent!");
+    }
+
+    /**
+     * Records a successful call which was permitted by {@link #acquirePermission(String)}.
+     * Ignored if the circuit changed its state since the call was permitted.
+     *
+     * @param permit the permit of the call
+     */
+    public void onSuccess(Permit permit) {
+        synchronized (circuit) {
+            if (permit.generation != circuit.generation) {
+                return;
+            }
+            if (circuit.state == State.CLOSED) {
+                circuit.failures = 0;
+            } else if (circuit.state == State.HALF_OPEN && ++circuit.probesSucceeded >= halfOpenProbes) {
+                transition(State.CLOSED);
+            }
+        }
+    }
+
+    /**
+     * Records a failed call which was permitted by {@link #acquirePermission(String)}.
+     * Ignored if the circuit changed its state since the call was permitted.
+     *
+     * @param permit the permit of the call
+     */
+    public void onFailure(Permit permit) {
+        synchronized (circuit) {
+            if (permit.generation != circuit.generation) {
+                return;
+            }
+            if (circuit.state == State.HALF_OPEN || (circuit.state == State.CLOSED && ++circuit.failures >= failureThreshold)) {
+                transition(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * Records a call which was permitted by {@link #acquirePermission(String)}, but cancelled before its outcome was known
+     * (e.g. the losing attempt of a hedged request). A cancelled half-open probe is given back, so another request can probe.
+     *
+     * @param permit the permit of the call
+     */
+    public void onCancelled(Permit permit) {
+        synchronized (circuit) {
+            if (permit.probe && permit.generation == circuit.generation && circuit.probesStarted > 0) {
+                circuit.probesStarted--;
+            }
+        }
+    }
+
+    /**
+     * Returns the current state of the circuit.
+     *
+     * @return the current state
+     */
+    public State getState() {
+        synchronized (circuit) {
+            return circuit.state;
+        }
+    }
+
+    /**
+     * Returns how many times the circuit transitioned into the given state.
+     *
+     * @param to the target state
+     * @return the number of transitions into the state
+     */
+    public long getTransitionCount(State to) {
+        return transitions.get(to).sum();
+    }
+
+    /**
+     * Returns how many requests were rejected without being sent.
+     *
+     * @return the number of rejected requests
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Changes the state of the circuit, must be called while holding the lock of the {@link #circuit}.
+     */
+    private void transition(State to) {
+        State from = circuit.state;
+        circuit.state = to;
+        circuit.generation++;
+        circuit.failures = 0;
+        circuit.probesStarted = 0;
+        circuit.probesSucceeded = 0;
+        if (to == State.OPEN) {
+            circuit.openedAt = System.nanoTime();
+        }
+        transitions.get(to).increment();
+        if (listener != null) {
+            listener.onStateTransition(this, from, to);
+        }
+    }
+
+    /**
+     * The mutable state of the circuit, guarded by its own monitor.
+     */
+    private static class Circuit {
+        private State state = State.CLOSED;
+        private long generation;
+        private int failures;
+        private int probesStarted;
+        private int probesSucceeded;
+        private long openedAt;
+    }
+}
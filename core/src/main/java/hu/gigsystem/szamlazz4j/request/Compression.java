@@ -0,0 +1,119 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The HTTP compression settings of a {@link Requester}.
+ *
+ * <p>Responses carrying Base64 PDFs or full invoice data compress well, so transports ask for gzip responses by default
+ * and decompress them while the body is streamed into the parser. Compressing the uploaded request is off by default, as
+ * requests are small and the endpoint has to accept a {@code Content-Encoding: gzip} upload, which is not documented
+ * for the Számlázz.hu agent: enable it only for endpoints known to support it, like a proxy or the stub server of the testkit.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * Requester requester = new OkHttpRequester(Compression.builder()
+ *                                                      .compressRequests(true)
+ *                                                      .build());
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder", toBuilder = true)
+public class Compression {
+
+    /**
+     * The settings used when none are given: compressed responses are accepted, requests are not compressed.
+     */
+    public static final Compression DEFAULT = Compression.builder().build();
+
+    /**
+     * No compression in either direction.
+     */
+    public static final Compression NONE = Compression.builder().acceptCompressed(false).build();
+
+    /**
+     * Whether compressed ({@code gzip} or {@code deflate}) responses are accepted.
+     */
+    @Builder.Default
+    private final boolean acceptCompressed = true;
+
+    /**
+     * Whether the uploaded request is gzip compressed.
+     */
+    @Builder.Default
+    private final boolean compressRequests = false;
+
+    /**
+     * The minimum size of a request body in bytes to compress it, smaller ones are not worth it.
+     */
+    @Builder.Default
+    private final int minRequestSize = 1024;
+
+    /**
+     * Returns the value of the {@code Accept-Encoding} request header.
+     *
+     * @return the accepted encodings
+     */
+    public String acceptEncoding() {
+        return acceptCompressed ? "gzip, deflate" : "identity";
+    }
+
+    /**
+     * Tells whether a request body of the given size is compressed.
+     *
+     * @param size the size of the body in bytes, negative if unknown
+     * @return {@code true} if the body is compressed
+     */
+    public boolean shouldCompress(long size) {
+        return compressRequests && (size < 0 || size >= minRequestSize);
+    }
+
+    /**
+     * Wraps a response body to decompress it while it is read.
+     *
+     * @param contentEncoding the {@code Content-Encoding} response header, may be {@code null}
+     * @param body            the body as received
+     * @return the decompressing stream, or the body itself if it is not compressed
+     * @throws IOException if the encoding is not supported or the gzip header is invalid
+     */
+    public static InputStream decode(String contentEncoding, InputStream body) throws IOException {
+        if (contentEncoding == null) {
+            return body;
+        }
+        return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "", "identity" -> body;
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, 8192);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> throw new IOException("Unsupported response encoding: " + contentEncoding);
+        };
+    }
+
+    /**
+     * Compresses a request body with gzip.
+     *
+     * @param data the body
+     * @return the compressed body
+     */
+    public static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory compression cannot fail!", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,28 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request could not be completed within the deadline given in its {@link RequestOptions}.
+ * <p>
+ * As a subclass of {@link InterruptedIOException} it is handled by existing {@code IOException} handlers,
+ * but can be caught separately to distinguish a slow API from a failing one.
+ * </p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public class DeadlineExceededException extends InterruptedIOException {
+
+    /**
+     * Constructs a new {@code DeadlineExceededException} for the given action and deadline.
+     *
+     * @param fileName the action (multipart file name) of the request which timed out
+     * @param deadline the deadline which was exceeded
+     */
+    public DeadlineExceededException(String fileName, Duration deadline) {
+        super("Request " + fileName + " did not complete within " + deadline.toMillis() + " ms!");
+    }
+}
@@ -0,0 +1,68 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Helpers for waiting on the result of calls running on another thread, translating the outcome to the exceptions of {@code sendRequest}.
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+final class Futures {
+
+    private Futures() {
+        // static use only
+    }
+
+    /**
+     * Waits for the result of a call until the deadline of the options.
+     *
+     * @param <T>      the type of the result
+     * @param future   the call to wait for
+     * @param fileName the action of the request, used in exception messages
+     * @param options  the options holding the deadline of the call
+     * @param start    the {@link System#nanoTime()} the call was started at
+     * @return the result of the call
+     * @throws IOException if the call failed, the deadline passed or the caller was interrupted
+     */
+    static <T> T await(Future<T> future, String fileName, RequestOptions options, long start) throws IOException {
+        try {
+            Duration remaining = options.remaining(fileName, start);
+            return remaining == null ? future.get() : future.get(remaining.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(fileName, options.getDeadline());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + fileName + "!");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Returns the failure of a call as an {@link IOException}, rethrowing unchecked exceptions as they are.
+     *
+     * @param e the exception of the future
+     * @return the cause if it is an {@link IOException}, otherwise an {@link IOException} wrapping it
+     */
+    static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IOException("Szamlazz request resulted in error!", cause);
+    }
+}
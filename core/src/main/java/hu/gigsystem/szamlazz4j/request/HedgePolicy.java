@@ -0,0 +1,175 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Policy of hedged requests: if an idempotent request has not completed after the hedge delay,
+ * a second, identical attempt is started and the first response wins, the other attempt is cancelled.
+ *
+ * <p>The hedge delay follows the observed latency: it is the configured {@link #percentile} of the last
+ * {@value #WINDOW} successful attempts made through this policy, but at least {@link #minDelay}. Until
+ * {@value #MIN_SAMPLES} attempts were observed, {@link #initialDelay} is used. With the default 95th percentile
+ * roughly every twentieth call sends a second request, which bounds the extra load on the API to about 5%.</p>
+ *
+ * <p>A policy instance is thread-safe and is meant to be shared by all calls of the same kind,
+ * so the latency statistics of e.g. PDF downloads are not mixed with those of invoice queries.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder")
+public class HedgePolicy {
+
+    /**
+     * The number of latest attempt latencies the hedge delay is computed from.
+     */
+    public static final int WINDOW = 256;
+
+    /**
+     * The number of attempts which must be observed before the percentile is used instead of the initial delay.
+     */
+    public static final int MIN_SAMPLES = 20;
+
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "szamlazz4j-hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The latency percentile (0-100, exclusive) after which the second attempt is started.
+     */
+    @lombok.Builder.Default
+    private final double percentile = 95;
+
+    /**
+     * The lower bound of the hedge delay, so a very fast API does not get every request twice.
+     */
+    @lombok.Builder.Default
+    private final Duration minDelay = Duration.ofMillis(50);
+
+    /**
+     * The hedge delay used until enough latencies were observed.
+     */
+    @lombok.Builder.Default
+    private final Duration initialDelay = Duration.ofSeconds(1);
+
+    /**
+     * The executor the attempts are run on. Attempts are cancelled by interruption,
+     * so it must run each task on its own thread (e.g. a cached or virtual thread pool).
+     */
+    @lombok.Builder.Default
+    private final ExecutorService executor = DEFAULT_EXECUTOR;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong recorded = new AtomicLong();
+
+    /**
+     * Records the latency of a successful attempt.
+     *
+     * @param nanos the latency of the attempt in nanoseconds
+     */
+    public void record(long nanos) {
+        samples.set((int) (recorded.getAndIncrement() % WINDOW), nanos);
+    }
+
+    /**
+     * Returns the current hedge delay computed from the recorded latencies.
+     *
+     * @return the time to wait for the first attempt before starting the second one
+     */
+    public Duration getDelay() {
+        int count = (int) Math.min(recorded.get(), WINDOW);
+        if (count < MIN_SAMPLES) {
+            return initialDelay;
+        }
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        long nanos = sorted[Math.max(0, Math.min(count - 1, index))];
+        return Duration.ofNanos(Math.max(nanos, minDelay.toNanos()));
+    }
+
+    /**
+     * Runs an attempt, and a second one if the first did not complete within the hedge delay.
+     * The first successful attempt wins and the other one is cancelled by interruption.
+     * The call fails only if every started attempt failed, or the deadline of the options passed.
+     *
+     * @param <T>      the type of the result
+     * @param attempt  a single attempt of the call, must be idempotent
+     * @param fileName the action of the request, used in exception messages
+     * @param options  the options holding the deadline of the call
+     * @param start    the {@link System#nanoTime()} the call was started at
+     * @return the result of the winning attempt
+     * @throws IOException if every attempt failed, the deadline passed or the caller was interrupted
+     */
+    public <T> T execute(Attempt<T> attempt, String fileName, RequestOptions options, long start) throws IOException {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger(1);
+        AtomicInteger failed = new AtomicInteger();
+        Runnable task = () -> {
+            long attemptStart = System.nanoTime();
+            try {
+                T value = attempt.call();
+                record(System.nanoTime() - attemptStart);
+                result.complete(value);
+            } catch (Throwable e) {
+                if (failed.incrementAndGet() >= started.get()) {
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+
+        Future<?> first = executor.submit(task);
+        Future<?> second = null;
+        try {
+            long delay = getDelay().toNanos();
+            Duration remaining = options.remaining(fileName, start);
+            try {
+                return result.get(remaining == null ? delay : Math.min(delay, remaining.toNanos()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException slow) {
+                // the first attempt is in the tail, hedge it
+            }
+
+            options.remaining(fileName, start);
+            started.incrementAndGet();
+            second = executor.submit(task);
+            return Futures.await(result, fileName, options, start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + fileName + "!");
+        } catch (ExecutionException e) {
+            throw Futures.unwrap(e);
+        } finally {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes the XML payload of an agent request as the {@code multipart/form-data} upload the Számlázz.hu API expects:
+ * a single file part, named after the action, with the XML document as its content.
+ *
+ * <p>The encoder is shared by the transports, so building a request costs the same with each of them. The part
+ * headers of every action are encoded once and cached, the exact content length is computed without encoding the
+ * payload, and the payload is encoded to UTF-8 in small chunks straight into the output stream of the transport,
+ * so no copy of the whole body is made.</p>
+ *
+ * <p>An encoder is immutable apart from its cache, and thread-safe. Each encoder has a random boundary.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public class MultipartEncoder {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    /**
+     * The boundary separating the parts.
+     */
+    @Getter
+    private final String boundary;
+
+    /**
+     * The value of the {@code Content-Type} header of the upload.
+     */
+    @Getter
+    private final String contentType;
+
+    private final byte[] tail;
+    private final Map<String, byte[]> heads = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an encoder with a random boundary.
+     */
+    public MultipartEncoder() {
+        this("szamlazz4j-" + UUID.randomUUID());
+    }
+
+    /**
+     * Creates an encoder with the given boundary.
+     *
+     * @param boundary the boundary, which must not occur in the payloads
+     */
+    public MultipartEncoder(String boundary) {
+        this.boundary = boundary;
+        this.contentType = "multipart/form-data; boundary=" + boundary;
+        this.tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Returns the exact length of the encoded upload.
+     *
+     * @param fileName   the form data part name and the file name for the XML content
+     * @param xmlPayload the XML content
+     * @return the length of the body in bytes
+     */
+    public long contentLength(String fileName, String xmlPayload) {
+        return head(fileName).length + utf8Length(xmlPayload) + tail.length;
+    }
+
+    /**
+     * Writes the encoded upload to the stream. The stream is not closed.
+     *
+     * @param out        the stream to write the body to
+     * @param fileName   the form data part name and the file name for the XML content
+     * @param xmlPayload the XML content
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeTo(OutputStream out, String fileName, String xmlPayload) throws IOException {
+        out.write(head(fileName));
+        writeUtf8(out, xmlPayload);
+        out.write(tail);
+    }
+
+    /**
+     * Returns the boundary line and the part headers of an action, encoded once per action.
+     */
+    private byte[] head(String fileName) {
+        return heads.computeIfAbsent(fileName, name -> ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + name + ".xml\"\r\n"
+                + "Content-Type: application/xml; charset=UTF-8\r\n"
+                + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the length of a text encoded to UTF-8, without encoding it. Unpaired surrogates count as {@code ?},
+     * like {@link String#getBytes} replaces them.
+     */
+    static long utf8Length(String text) {
+        long length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    length++;
+                } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    // 4 bytes for the 2 chars of the pair
+                    length += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    length += 2;
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Encodes a text to UTF-8 through a small buffer.
+     */
+    private static void writeUtf8(OutputStream out, String text) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(CHUNK_SIZE, utf8Length(text) + 4)];
+        int position = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (position > buffer.length - 4) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        out.write(buffer, 0, position);
+    }
+}
@@ -0,0 +1,40 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Priority classes of API calls, used by the {@link PriorityDispatcher} to share the available
+ * concurrency between interactive and background traffic.
+ *
+ * <p>Each class gets a share of the dispatched calls proportional to its weight while it has waiting calls,
+ * so bulk jobs keep progressing but cannot crowd out requests a user is waiting for.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@AllArgsConstructor
+public enum Priority {
+
+    /**
+     * A user is waiting for the result, e.g. an invoice PDF download.
+     */
+    INTERACTIVE(16),
+
+    /**
+     * Regular operations, e.g. invoice creation at checkout.
+     */
+    NORMAL(4),
+
+    /**
+     * Background jobs, e.g. end-of-day payment registration or cleanup.
+     */
+    BULK(1);
+
+    /**
+     * The relative share of the class when calls of several classes are waiting.
+     */
+    private final int weight;
+}
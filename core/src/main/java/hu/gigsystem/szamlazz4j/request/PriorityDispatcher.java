@@ -0,0 +1,232 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of concurrent calls of a {@link hu.gigsystem.szamlazz4j.SzamlaAgent} and, when the limit is reached,
+ * admits the waiting calls by weighted fair scheduling of their {@link Priority}.
+ *
+ * <p>Calls of the same priority are admitted in arrival order. Between priorities stride scheduling is used: every class has a
+ * virtual time which advances by {@code 1 / weight} each time one of its calls is admitted, and the waiting class with the
+ * smallest virtual time goes next. With the default weights, out of 21 admissions under full load 16 go to interactive,
+ * 4 to normal and 1 to bulk calls. A class which was idle does not accumulate credit, so a burst of bulk calls after a
+ * quiet period still cannot starve interactive ones.</p>
+ *
+ * <p>The limit should match the connection pool or the rate budget of the account, so the queueing happens here,
+ * in priority order, instead of inside the transport.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder")
+public class PriorityDispatcher {
+
+    /**
+     * The maximum number of calls in flight at the same time.
+     */
+    @lombok.Builder.Default
+    private final int maxConcurrency = 16;
+
+    @Getter(AccessLevel.NONE)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Priority, Lane> lanes = createLanes();
+
+    @Getter(AccessLevel.NONE)
+    private final Counters counters = new Counters();
+
+    /**
+     * Waits until the call may be sent.
+     *
+     * @param priority the priority of the call
+     * @param fileName the action of the request, used in exception messages
+     * @param options  the options holding the deadline of the call
+     * @param start    the {@link System#nanoTime()} the call was started at
+     * @throws DeadlineExceededException if the deadline passed while waiting
+     * @throws InterruptedIOException    if the thread was interrupted while waiting
+     */
+    public void acquire(Priority priority, String fileName, RequestOptions options, long start) throws InterruptedIOException {
+        Lane lane = lanes.get(priority);
+        lock.lock();
+        try {
+            if (counters.running < maxConcurrency && counters.waiting == 0) {
+                admit(lane);
+                return;
+            }
+
+            Waiter waiter = new Waiter(lock.newCondition());
+            if (lane.queue.isEmpty()) {
+                // an idle lane starts from the current virtual time, it does not keep credit from its idle period
+                lane.pass = Math.max(lane.pass, counters.virtualTime);
+            }
+            lane.queue.addLast(waiter);
+            counters.waiting++;
+            lane.waited.increment();
+            try {
+                while (!waiter.admitted) {
+                    Duration remaining = options.remaining(fileName, start);
+                    if (remaining == null) {
+                        waiter.condition.await();
+                    } else {
+                        waiter.condition.await(remaining.toNanos(), TimeUnit.NANOSECONDS);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandon(lane, waiter);
+                throw new InterruptedIOException("Interrupted while waiting to send " + fileName + "!");
+            } catch (DeadlineExceededException e) {
+                abandon(lane, waiter);
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Signals that a call admitted by {@link #acquire} has completed, and admits the next waiting call.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            counters.running--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of calls in flight.
+     *
+     * @return the number of admitted, not yet released calls
+     */
+    public int getRunningCount() {
+        lock.lock();
+        try {
+            return counters.running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of calls of the priority waiting to be admitted.
+     *
+     * @param priority the priority
+     * @return the length of the queue of the priority
+     */
+    public int getQueueLength(Priority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many calls of the priority had to wait for admission.
+     *
+     * @param priority the priority
+     * @return the number of queued calls
+     */
+    public long getWaitedCount(Priority priority) {
+        return lanes.get(priority).waited.sum();
+    }
+
+    /**
+     * Admits waiting calls while there is free concurrency, always from the waiting lane with the smallest virtual time.
+     */
+    private void dispatch() {
+        while (counters.running < maxConcurrency && counters.waiting > 0) {
+            Lane next = null;
+            for (Lane lane : lanes.values()) {
+                if (!lane.queue.isEmpty() && (next == null || lane.pass < next.pass)) {
+                    next = lane;
+                }
+            }
+            Waiter waiter = next.queue.pollFirst();
+            counters.waiting--;
+            waiter.admitted = true;
+            admit(next);
+            waiter.condition.signal();
+        }
+    }
+
+    private void admit(Lane lane) {
+        counters.running++;
+        counters.virtualTime = Math.max(counters.virtualTime, lane.pass);
+        lane.pass += lane.stride;
+    }
+
+    private void abandon(Lane lane, Waiter waiter) {
+        if (waiter.admitted) {
+            // admitted concurrently with the timeout or interrupt, give the slot to the next call
+            counters.running--;
+        } else {
+            lane.queue.remove(waiter);
+            counters.waiting--;
+        }
+        dispatch();
+    }
+
+    private static Map<Priority, Lane> createLanes() {
+        Map<Priority, Lane> lanes = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            lanes.put(priority, new Lane(1.0 / priority.getWeight()));
+        }
+        return lanes;
+    }
+
+    /**
+     * The queue and virtual time of a priority class, guarded by the lock of the dispatcher.
+     */
+    private static class Lane {
+        private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        private final LongAdder waited = new LongAdder();
+        private final double stride;
+        private double pass;
+
+        private Lane(double stride) {
+            this.stride = stride;
+        }
+    }
+
+    /**
+     * A call waiting for admission.
+     */
+    private static class Waiter {
+        private final Condition condition;
+        private boolean admitted;
+
+        private Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * The shared counters of the dispatcher, guarded by its lock.
+     */
+    private static class Counters {
+        private int running;
+        private int waiting;
+        private double virtualTime;
+    }
+}
@@ -0,0 +1,147 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An HTTP response of the agent API as returned by a {@link Requester}: the status, the headers and the body as a stream.
+ *
+ * <p>Besides the XML body, the agent returns the result of some calls in {@code szlahu_*} headers, and with response
+ * version {@code 1} the body is the raw PDF. The body can be read once, and the response must be closed to release
+ * the connection of the transport.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+public class RawResponse implements Closeable {
+
+    /**
+     * The HTTP status code.
+     */
+    private final int status;
+
+    /**
+     * The response headers, with case-insensitive names.
+     */
+    private final Map<String, List<String>> headers;
+
+    /**
+     * The response body, readable once.
+     */
+    private final InputStream body;
+
+    /**
+     * Creates a response.
+     *
+     * @param status  the HTTP status code
+     * @param headers the response headers, {@code null} names (like the status line of {@link java.net.HttpURLConnection}) are dropped
+     * @param body    the response body
+     */
+    public RawResponse(int status, Map<String, List<String>> headers, InputStream body) {
+        Map<String, List<String>> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.forEach((name, values) -> {
+            if (name != null) {
+                copy.put(name, values);
+            }
+        });
+        this.status = status;
+        this.headers = Collections.unmodifiableMap(copy);
+        this.body = body;
+    }
+
+    /**
+     * Wraps a response body read by a transport which does not expose the status and the headers.
+     *
+     * @param body the response body
+     * @return a {@code 200} response without headers
+     */
+    public static RawResponse of(String body) {
+        return new RawResponse(200, Map.of(), new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns the first value of a header.
+     *
+     * @param name the case-insensitive name of the header
+     * @return the first value, or {@code null} if the header is missing
+     */
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Returns the {@code Content-Type} header.
+     *
+     * @return the content type, or {@code null} if the header is missing
+     */
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    /**
+     * Reads the whole body.
+     *
+     * @return the body bytes
+     * @throws IOException if the body cannot be read
+     */
+    public byte[] readBytes() throws IOException {
+        return body.readAllBytes();
+    }
+
+    /**
+     * Reads the whole body as text, in the charset of the {@code Content-Type} header or UTF-8.
+     *
+     * @return the body text
+     * @throws IOException if the body cannot be read
+     */
+    public String readString() throws IOException {
+        return new String(readBytes(), charset());
+    }
+
+    /**
+     * Reads the whole body into memory and closes this response, e.g. when the response may outlive the call that is waiting for it.
+     *
+     * @return a response with the same status and headers, and the body in memory
+     * @throws IOException if the body cannot be read
+     */
+    public RawResponse buffered() throws IOException {
+        try (this) {
+            return new RawResponse(status, headers, new ByteArrayInputStream(readBytes()));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+
+    private Charset charset() {
+        String contentType = getContentType();
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                String trimmed = parameter.trim();
+                if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                    try {
+                        return Charset.forName(trimmed.substring(8).replace("\"", ""));
+                    } catch (IllegalArgumentException ignored) {
+                        // unknown charset, fall back to UTF-8
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
@@ -0,0 +1,74 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Per-call options of {@link hu.gigsystem.szamlazz4j.SzamlaAgent#sendRequest(hu.gigsystem.szamlazz4j.model.BaseRequest, Class, RequestOptions)}.
+ *
+ * <p>The options are immutable and can be shared between calls, e.g. one instance for the
+ * customer-facing pages and one for background jobs.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * RequestOptions options = RequestOptions.builder()
+ *                                        .deadline(Duration.ofSeconds(3))
+ *                                        .hedge(HedgePolicy.builder().build())
+ *                                        .build();
+ *
+ * XmlInvoiceResponse pdf = agent.sendRequest(pdfRequest, XmlInvoiceResponse.class, options);
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder", toBuilder = true)
+public class RequestOptions {
+
+    /**
+     * The options used when none are given: no deadline and no hedging.
+     */
+    public static final RequestOptions DEFAULT = RequestOptions.builder().build();
+
+    /**
+     * The maximum time the whole call may take, measured from the invocation of {@code sendRequest},
+     * including validation and every attempt. The remaining time is passed to the {@link Requester} as its timeout.
+     * {@code null} means no deadline, the timeouts of the transport apply.
+     */
+    private final Duration deadline;
+
+    /**
+     * The hedging policy to use for idempotent requests (see {@link hu.gigsystem.szamlazz4j.model.BaseRequest#isIdempotent()}).
+     * Ignored for requests which are not idempotent. {@code null} disables hedging.
+     */
+    private final HedgePolicy hedge;
+
+    /**
+     * The priority of the call in the {@link PriorityDispatcher} of the agent.
+     * {@code null} means the {@linkplain hu.gigsystem.szamlazz4j.model.BaseRequest#getDefaultPriority() default of the request}.
+     */
+    private final Priority priority;
+
+    /**
+     * Returns the time left from the deadline of a call.
+     *
+     * @param fileName the action of the request, used in the exception message
+     * @param start    the {@link System#nanoTime()} the call was started at
+     * @return the remaining time, or {@code null} if there is no deadline
+     * @throws DeadlineExceededException if the deadline has already passed
+     */
+    public Duration remaining(String fileName, long start) throws DeadlineExceededException {
+        if (deadline == null) {
+            return null;
+        }
+        long remaining = deadline.toNanos() - (System.nanoTime() - start);
+        if (remaining <= 0) {
+            throw new DeadlineExceededException(fileName, deadline);
+        }
+        return Duration.ofNanos(remaining);
+    }
+}
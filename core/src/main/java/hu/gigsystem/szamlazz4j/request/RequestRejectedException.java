@@ -0,0 +1,26 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when a request is not sent at all, because the {@link CircuitBreaker} is open
+ * or the {@link Bulkheads bulkhead} of its operation is full.
+ * <p>
+ * The request has not reached the Számlázz.hu API, so it can safely be retried later, even if it is not idempotent.
+ * </p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public class RequestRejectedException extends IOException {
+
+    /**
+     * Constructs a new {@code RequestRejectedException} with the specified detail message.
+     *
+     * @param message the detail message explaining why the request was rejected
+     */
+    public RequestRejectedException(String message) {
+        super(message);
+    }
+}
@@ -11,14 +11,16 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for validating XML request payloads against XML Schema (XSD) files.
  * <p>
- * This class is designed for static use only and provides thread-safe caching of schema validators
- * to improve performance by reusing compiled schemas.
+ * This class is designed for static use only and provides thread-safe caching of compiled schemas
+ * to improve performance. A {@link Validator} is not thread-safe, so a new one is created from the cached schema for each validation.
  * </p>
  *
  * @author Tamás Tóth
@@ -28,9 +30,15 @@ import java.util.concurrent.ConcurrentHashMap;
 public class RequestValidator {
 
     /**
-     * A thread-safe registry of compiled {@link Validator} instances keyed by schema file name.
+     * The schema files of the requests of the agent API, located in the classpath under "/schemas/".
      */
-    private static final ConcurrentHashMap<String, Validator> validators = new ConcurrentHashMap<>(4);
+    public static final List<String> SCHEMA_FILES = List.of("xmlszamla.xml", "xmlszamlast.xml", "xmlszamlapdf.xml",
+            "xmlszamlaxml.xml", "xmlszamlakifiz.xml", "xmlszamladbkdel.xml");
+
+    /**
+     * A thread-safe registry of compiled {@link Schema} instances keyed by schema file name.
+     */
+    private static final ConcurrentHashMap<String, Schema> schemas = new ConcurrentHashMap<>(8);
 
     /**
      * Private constructor to prevent instantiation.
@@ -56,25 +64,39 @@ public class RequestValidator {
     }
 
     /**
-     * Retrieves a cached {@link Validator} instance for the given schema file, or creates and caches
-     * a new one if it does not exist yet.
+     * Compiles and caches the given schemas ahead of the first validation, e.g. at startup.
+     *
+     * @param schemaFiles the filenames of the XML schema (XSD) resources located in the classpath under "/schemas/"
+     * @throws IllegalStateException if a schema cannot be read or compiled
+     */
+    public static void compile(Collection<String> schemaFiles) {
+        for (String schemaFile : schemaFiles) {
+            try {
+                getValidator(schemaFile);
+            } catch (IOException | SAXException | RuntimeException e) {
+                throw new IllegalStateException("Schema " + schemaFile + " cannot be compiled!", e);
+            }
+        }
+    }
+
+    /**
+     * Creates a new {@link Validator} for the given schema file from the cached compiled schema,
+     * compiling and caching the schema if it does not exist yet.
      *
      * @param schemaFile the filename of the XML schema (XSD) resource located in the classpath under "/schemas/"
-     * @return a cached or newly created {@link Validator} instance
+     * @return a new {@link Validator} instance, to be used by the calling thread only
      * @throws IOException  if there is an error reading the schema resource
      * @throws SAXException if the schema file is invalid or cannot be parsed
      */
     private static Validator getValidator(String schemaFile) throws IOException, SAXException {
-        if (validators.containsKey(schemaFile)) {
-            return validators.get(schemaFile);
-        }
-
-        try (InputStream input = new BufferedInputStream(Objects.requireNonNull(RequestValidator.class.getResourceAsStream("/schemas/" + schemaFile)))) {
-            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            Schema schema = factory.newSchema(new StreamSource((input)));
-            Validator validator = schema.newValidator();
-            validators.put(schemaFile, validator);
-            return validator;
+        Schema schema = schemas.get(schemaFile);
+        if (schema == null) {
+            try (InputStream input = new BufferedInputStream(Objects.requireNonNull(RequestValidator.class.getResourceAsStream("/schemas/" + schemaFile)))) {
+                SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+                schema = factory.newSchema(new StreamSource((input)));
+                schemas.put(schemaFile, schema);
+            }
         }
+        return schema.newValidator();
     }
 }
@@ -3,6 +3,7 @@ package hu.gigsystem.szamlazz4j.request;
 import hu.gigsystem.szamlazz4j.SzamlaAgent;
 
 import java.io.IOException;
+import java.time.Duration;
 
 /**
  * Represents a component responsible for executing HTTP requests
@@ -25,4 +26,57 @@ public interface Requester {
      */
     String doRequest(String xmlPayload, String fileName, SzamlaAgent agent) throws IOException;
 
+    /**
+     * Sends the given XML payload like {@link #doRequest(String, String, SzamlaAgent)}, but gives up after the given timeout.
+     *
+     * <p>The timeout covers the whole call (connecting, writing the request and reading the response).
+     * Implementations should also abort the call when the calling thread is interrupted, which is how
+     * the losing attempt of a hedged request is cancelled.</p>
+     *
+     * <p>The default implementation ignores the timeout, so transports which do not support it
+     * keep working with their own configured timeouts.</p>
+     *
+     * @param xmlPayload the XML data to send in the request body
+     * @param fileName   optional file name related to the request (may be used for attachments or identification)
+     * @param agent      the {@link SzamlaAgent} instance initiating the request, providing context
+     * @param timeout    the maximum duration of the call
+     * @return the raw XML response from the server as a string
+     * @throws IOException if there is a problem executing the request, or it did not complete in time
+     */
+    default String doRequest(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+        return doRequest(xmlPayload, fileName, agent);
+    }
+
+    /**
+     * Sends the given XML payload and returns the whole HTTP response, with the status, the headers and the body as a stream.
+     * This is what the {@link SzamlaAgent} calls, so responses which carry their result in the headers or a binary body can be read.
+     *
+     * <p>The timeout behaves like in {@link #doRequest(String, String, SzamlaAgent, Duration)}, and covers the whole call,
+     * including reading the body of the returned response. The caller must close the returned response.</p>
+     *
+     * <p>The default implementation wraps the body returned by {@code doRequest}, without status and headers,
+     * so existing transports keep working with XML responses.</p>
+     *
+     * @param xmlPayload the XML data to send in the request body
+     * @param fileName   optional file name related to the request (may be used for attachments or identification)
+     * @param agent      the {@link SzamlaAgent} instance initiating the request, providing context
+     * @param timeout    the maximum duration of the call, {@code null} for no timeout
+     * @return the response of the server
+     * @throws IOException if there is a problem executing the request, or it did not complete in time
+     */
+    default RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+        return RawResponse.of(timeout == null ? doRequest(xmlPayload, fileName, agent) : doRequest(xmlPayload, fileName, agent, timeout));
+    }
+
+    /**
+     * Opens a connection to the endpoint of the agent ahead of the first request, so the first call does not pay for the
+     * DNS lookup and the TCP and TLS handshakes. Implementations should leave the connection in their pool.
+     *
+     * <p>The default implementation does nothing, for transports which cannot keep connections.</p>
+     *
+     * @param agent the {@link SzamlaAgent} providing the endpoint to connect to
+     * @throws IOException if the endpoint cannot be reached
+     */
+    default void preconnect(SzamlaAgent agent) throws IOException {
+    }
 }
@@ -0,0 +1,104 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicates concurrent identical calls: while a call with a given key is in flight, further callers with the same key
+ * do not start their own call but wait for the result of the running one.
+ *
+ * <p>The key is the {@linkplain hu.gigsystem.szamlazz4j.model.BaseRequest#getIdempotencyKey() idempotency key} of the request,
+ * so e.g. hundreds of customers opening the same invoice PDF at once share a single network call and a single decoded response.
+ * Once the call completes, the key is released and the response is served from the response cache of the agent, if enabled.</p>
+ *
+ * <p>A waiting caller gets the outcome of the running call, including its failure. Each caller waits at most until its own deadline.
+ * If the running call was given up because its caller ran out of time or was interrupted, that failure is not shared:
+ * a waiting caller, which may have more time left, starts the call again.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public class SingleFlight {
+
+    /**
+     * The result of a call given up on the deadline or an interrupt of its caller, which the waiting callers retry.
+     */
+    private static final Object ABANDONED = new Object();
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Runs the call, or waits for the result of an identical call which is already running, and runs it if that call is abandoned.
+     *
+     * @param <T>      the type of the result
+     * @param key      the key identifying identical calls
+     * @param call     the call to run if no identical call is running
+     * @param fileName the action of the request, used in exception messages
+     * @param options  the options holding the deadline of the caller
+     * @param start    the {@link System#nanoTime()} the call was started at
+     * @return the result of the call
+     * @throws IOException if the call failed, the deadline passed or the caller was interrupted
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Attempt<T> call, String fileName, RequestOptions options, long start) throws IOException {
+        while (true) {
+            CompletableFuture<Object> own = new CompletableFuture<>();
+            CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+            if (running == null) {
+                return lead(key, own, call);
+            }
+            Object result = Futures.await(running, fileName, options, start);
+            if (result != ABANDONED) {
+                shared.increment();
+                return (T) result;
+            }
+        }
+    }
+
+    /**
+     * Runs the call for every caller waiting on the given future. The key is released before the future is completed,
+     * so a caller retrying an abandoned call does not find it again.
+     */
+    private <T> T lead(Object key, CompletableFuture<Object> own, Attempt<T> call) throws IOException {
+        T result;
+        try {
+            result = call.call();
+        } catch (InterruptedIOException e) {
+            // a deadline or interrupt of this caller, not a failure of the call
+            inFlight.remove(key, own);
+            own.complete(ABANDONED);
+            throw e;
+        } catch (IOException | RuntimeException | Error e) {
+            inFlight.remove(key, own);
+            own.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, own);
+        own.complete(result);
+        return result;
+    }
+
+    /**
+     * Returns the number of calls currently in flight.
+     *
+     * @return the number of distinct keys being executed
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Returns how many callers got the result of an already running call instead of starting their own.
+     *
+     * @return the number of network calls saved
+     */
+    public long getSharedCount() {
+        return shared.sum();
+    }
+}
@@ -0,0 +1,68 @@
+package hu.gigsystem.szamlazz4j;
+
+import hu.gigsystem.szamlazz4j.request.MultipartEncoder;
+import hu.gigsystem.szamlazz4j.request.RawResponse;
+import hu.gigsystem.szamlazz4j.request.Requester;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * A {@link Requester} of the tests, sending the requests with the HTTP client of the JDK, so the agent can be tested
+ * against the {@link hu.gigsystem.szamlazz4j.testkit.StubSzamlaServer} without a transport module.
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public class HttpClientRequester implements Requester {
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final MultipartEncoder encoder = new MultipartEncoder();
+
+    /**
+     * Creates an agent sending its requests to the given endpoint with this requester.
+     *
+     * @param endpoint the endpoint of the stub server
+     * @return the agent builder, for further settings
+     */
+    public SzamlaAgent.Builder agent(String endpoint) {
+        return SzamlaAgent.builder()
+                .key("stub-key")
+                .endpoint(endpoint)
+                .requester(this);
+    }
+
+    @Override
+    public String doRequest(String xmlPayload, String fileName, SzamlaAgent agent) throws IOException {
+        try (RawResponse response = execute(xmlPayload, fileName, agent, null)) {
+            return response.readString();
+        }
+    }
+
+    @Override
+    public RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        encoder.writeTo(body, fileName, xmlPayload);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(agent.getEndpoint()))
+                .header("Content-Type", encoder.getContentType())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+        if (timeout != null) {
+            request.timeout(timeout);
+        }
+        try {
+            HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            return new RawResponse(response.statusCode(), response.headers().map(), response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request " + fileName + " was interrupted!");
+        }
+    }
+}
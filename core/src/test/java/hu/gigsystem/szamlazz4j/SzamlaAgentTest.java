@@ -0,0 +1,216 @@
+package hu.gigsystem.szamlazz4j;
+
+import hu.gigsystem.szamlazz4j.cache.HeapResponseCache;
+import hu.gigsystem.szamlazz4j.model.invoice.InvoicePaymentRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.model.invoice.query.InvoicePdfQueryRequest;
+import hu.gigsystem.szamlazz4j.request.Bulkheads;
+import hu.gigsystem.szamlazz4j.request.CircuitBreaker;
+import hu.gigsystem.szamlazz4j.request.DeadlineExceededException;
+import hu.gigsystem.szamlazz4j.request.RawResponse;
+import hu.gigsystem.szamlazz4j.request.RequestOptions;
+import hu.gigsystem.szamlazz4j.testkit.StubBehavior;
+import hu.gigsystem.szamlazz4j.testkit.StubSzamlaServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SzamlaAgentTest {
+
+    private static final String PDF_QUERY = "action-szamla_agent_pdf";
+
+    private StubSzamlaServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = StubSzamlaServer.start(StubBehavior.defaults());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void permitsAreHeldUntilBodyIsRead() throws Exception {
+        Bulkheads bulkheads = Bulkheads.builder().defaultLimit(1).build();
+        AtomicInteger activeWhileReading = new AtomicInteger(-1);
+        HttpClientRequester requester = new HttpClientRequester() {
+            @Override
+            public RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+                RawResponse response = super.execute(xmlPayload, fileName, agent, timeout);
+                InputStream body = new FilterInputStream(response.getBody()) {
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        activeWhileReading.compareAndSet(-1, bulkheads.getActiveCount(fileName));
+                        return super.read(b, off, len);
+                    }
+                };
+                return new RawResponse(response.getStatus(), response.getHeaders(), body);
+            }
+        };
+        SzamlaAgent agent = requester.agent(server.getEndpoint())
+                .enableCaching(false)
+                .bulkheads(bulkheads)
+                .build();
+
+        assertTrue(query(agent).isSuccess());
+        assertEquals(1, activeWhileReading.get());
+        assertEquals(0, bulkheads.getActiveCount(PDF_QUERY));
+    }
+
+    @Test
+    void failedBodyReadCountsAsFailure() throws Exception {
+        CircuitBreaker breaker = CircuitBreaker.builder().failureThreshold(1).build();
+        Bulkheads bulkheads = Bulkheads.builder().build();
+        HttpClientRequester requester = new HttpClientRequester() {
+            @Override
+            public RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+                RawResponse response = super.execute(xmlPayload, fileName, agent, timeout);
+                InputStream body = new FilterInputStream(response.getBody()) {
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        throw new IOException("Connection reset while reading the body");
+                    }
+                };
+                return new RawResponse(response.getStatus(), response.getHeaders(), body);
+            }
+        };
+        SzamlaAgent agent = requester.agent(server.getEndpoint())
+                .enableCaching(false)
+                .circuitBreaker(breaker)
+                .bulkheads(bulkheads)
+                .build();
+
+        assertThrows(IOException.class, () -> query(agent));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(0, bulkheads.getActiveCount(PDF_QUERY));
+    }
+
+    @Test
+    void deadlineIsCheckedAfterBodyIsRead() throws Exception {
+        SzamlaAgent agent = slowBodyRequester(Duration.ofMillis(300)).agent(server.getEndpoint())
+                .enableCaching(false)
+                .build();
+        RequestOptions options = RequestOptions.builder().deadline(Duration.ofMillis(100)).build();
+
+        assertThrows(DeadlineExceededException.class,
+                () -> agent.sendRequest(InvoicePdfQueryRequest.builder().invoiceNumber("E-STUB-2026-1").build(), XmlInvoiceResponse.class, options));
+    }
+
+    @Test
+    void pdfDownloadedPastDeadlineIsRemoved(@TempDir Path directory) throws Exception {
+        SzamlaAgent agent = slowBodyRequester(Duration.ofMillis(300)).agent(server.getEndpoint()).build();
+        RequestOptions options = RequestOptions.builder().deadline(Duration.ofMillis(100)).build();
+        Path target = directory.resolve("E-STUB-2026-1.pdf");
+
+        assertThrows(DeadlineExceededException.class,
+                () -> agent.downloadPdf(InvoicePdfQueryRequest.builder().invoiceNumber("E-STUB-2026-1").build(), target, options));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void failedQueryIsNotCached() throws Exception {
+        SzamlaAgent agent = new HttpClientRequester().agent(server.getEndpoint())
+                .responseCache(HeapResponseCache.builder().build())
+                .build();
+
+        server.setBehavior(StubBehavior.builder().errorCode(7).build());
+        assertFalse(query(agent).isSuccess());
+
+        server.setBehavior(StubBehavior.defaults());
+        assertTrue(query(agent).isSuccess());
+        assertTrue(query(agent).isSuccess());
+        assertEquals(2, server.getRequestCount(PDF_QUERY));
+    }
+
+    @Test
+    void paymentIsNeverCached() throws Exception {
+        SzamlaAgent agent = new HttpClientRequester().agent(server.getEndpoint())
+                .responseCache(HeapResponseCache.builder().build())
+                .build();
+
+        assertTrue(agent.sendRequest(payment(), XmlInvoiceResponse.class).isSuccess());
+        assertTrue(agent.sendRequest(payment(), XmlInvoiceResponse.class).isSuccess());
+        assertEquals(2, server.getRequestCount("action-szamla_agent_kifiz"));
+    }
+
+    @Test
+    void successfulQueryIsCachedPerAccount() throws Exception {
+        HeapResponseCache cache = HeapResponseCache.builder().build();
+        SzamlaAgent agent = new HttpClientRequester().agent(server.getEndpoint()).responseCache(cache).build();
+        SzamlaAgent other = new HttpClientRequester().agent(server.getEndpoint()).key("other-key").responseCache(cache).build();
+
+        assertTrue(query(agent).isSuccess());
+        assertTrue(query(agent).isSuccess());
+        assertEquals(1, server.getRequestCount(PDF_QUERY));
+        assertTrue(query(other).isSuccess());
+        assertEquals(2, server.getRequestCount(PDF_QUERY));
+    }
+
+    private static InvoicePaymentRequest payment() {
+        return InvoicePaymentRequest.builder()
+                .settings(InvoicePaymentRequest.Settings.builder()
+                        .invoiceNumber("E-STUB-2026-1")
+                        .additive(true)
+                        .build())
+                .payments(List.of(InvoicePaymentRequest.Payment.builder()
+                        .paymentDate(LocalDate.of(2026, 10, 19))
+                        .paymentType("átutalás")
+                        .amount(BigDecimal.valueOf(1000))
+                        .build()))
+                .build();
+    }
+
+    /**
+     * A requester whose response bodies stall before their first byte, after the headers were received.
+     */
+    private static HttpClientRequester slowBodyRequester(Duration stall) {
+        return new HttpClientRequester() {
+            @Override
+            public RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+                RawResponse response = super.execute(xmlPayload, fileName, agent, timeout);
+                InputStream body = new FilterInputStream(response.getBody()) {
+                    private boolean stalled;
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        if (!stalled) {
+                            stalled = true;
+                            try {
+                                Thread.sleep(stall.toMillis());
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new InterruptedIOException();
+                            }
+                        }
+                        return super.read(b, off, len);
+                    }
+                };
+                return new RawResponse(response.getStatus(), response.getHeaders(), body);
+            }
+        };
+    }
+
+    private static XmlInvoiceResponse query(SzamlaAgent agent) throws Exception {
+        return agent.sendRequest(InvoicePdfQueryRequest.builder().invoiceNumber("E-STUB-2026-1").build(), XmlInvoiceResponse.class);
+    }
+}
@@ -0,0 +1,53 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchExecutorTest {
+
+    @Test
+    void listenerFailureIsAttachedToReport() throws Exception {
+        BatchExecutor executor = BatchExecutor.builder().maxConcurrency(1).build();
+
+        BatchReport<Integer, Integer> report = executor.run(List.of(1, 2, 3), item -> item * 10, result -> {
+            if (result.getItem() != 1) {
+                throw new IllegalStateException("Could not log item " + result.getItem());
+            }
+        });
+
+        assertEquals(3, report.getResults().size());
+        assertEquals(3, report.getSucceeded().size());
+        assertEquals("Could not log item 2", report.getListenerFailure().getMessage());
+        assertEquals(1, report.getListenerFailure().getSuppressed().length);
+        assertFalse(report.isSuccess());
+    }
+
+    @Test
+    void failedAttemptsAreRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        BatchExecutor executor = BatchExecutor.builder()
+                .maxAttempts(3)
+                .retryBackoff(Duration.ZERO)
+                .build();
+
+        BatchReport<String, String> report = executor.run(List.of("item"), item -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("Connection reset");
+            }
+            return item;
+        });
+
+        assertTrue(report.isSuccess());
+        assertNull(report.getListenerFailure());
+        assertEquals(3, report.getResults().get(0).getAttempts());
+    }
+}
@@ -0,0 +1,101 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import hu.gigsystem.szamlazz4j.HttpClientRequester;
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.request.RawResponse;
+import hu.gigsystem.szamlazz4j.testkit.StubBehavior;
+import hu.gigsystem.szamlazz4j.testkit.StubSzamlaServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CancellationBatchTest {
+
+    private static final String CANCELLATION = "action-szamla_agent_st";
+    private static final String PDF_QUERY = "action-szamla_agent_pdf";
+    private static final String INVOICE_NUMBER = "E-STUB-2026-1";
+
+    @TempDir
+    private Path directory;
+
+    private StubSzamlaServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = StubSzamlaServer.start(StubBehavior.defaults());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void cancellationIsLoggedAsSentBeforeDone() throws Exception {
+        Path log = directory.resolve("progress.log");
+        CancellationBatch batch = CancellationBatch.builder()
+                .agent(new HttpClientRequester().agent(server.getEndpoint()).build())
+                .progressLog(log)
+                .build();
+
+        assertTrue(batch.submitInvoiceNumbers(List.of(INVOICE_NUMBER)).isSuccess());
+
+        List<String> lines = Files.readAllLines(log);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith(ProgressLog.SENT + "\t" + INVOICE_NUMBER + "\t"));
+        assertTrue(lines.get(1).startsWith(ProgressLog.DONE + "\t" + INVOICE_NUMBER + "\t"));
+    }
+
+    @Test
+    void restartedBatchDownloadsMissingPdfWithoutCancellingAgain() throws Exception {
+        Path log = directory.resolve("progress.log");
+        Path pdfs = directory.resolve("storno");
+        HttpClientRequester failingPdfs = new HttpClientRequester() {
+            @Override
+            public RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+                if (PDF_QUERY.equals(fileName)) {
+                    throw new IOException("Connection reset");
+                }
+                return super.execute(xmlPayload, fileName, agent, timeout);
+            }
+        };
+
+        BatchReport<CancellationBatch.Cancellation, XmlInvoiceResponse> first = batch(failingPdfs, log, pdfs)
+                .submitInvoiceNumbers(List.of(INVOICE_NUMBER));
+        assertFalse(first.isSuccess());
+        assertEquals(1, server.getRequestCount(CANCELLATION));
+
+        BatchReport<CancellationBatch.Cancellation, XmlInvoiceResponse> second = batch(new HttpClientRequester(), log, pdfs)
+                .submitInvoiceNumbers(List.of(INVOICE_NUMBER));
+        assertTrue(second.isSuccess());
+        assertEquals(1, server.getRequestCount(CANCELLATION));
+        assertEquals(1, server.getRequestCount(PDF_QUERY));
+        String stornoNumber = second.getResults().get(0).getResponse().getInvoiceNumber();
+        assertTrue(Files.size(pdfs.resolve(stornoNumber + ".pdf")) > 0);
+
+        BatchReport<CancellationBatch.Cancellation, XmlInvoiceResponse> third = batch(new HttpClientRequester(), log, pdfs)
+                .submitInvoiceNumbers(List.of(INVOICE_NUMBER));
+        assertTrue(third.getResults().isEmpty());
+        assertEquals(1, server.getRequestCount(CANCELLATION));
+    }
+
+    private CancellationBatch batch(HttpClientRequester requester, Path log, Path pdfs) {
+        return CancellationBatch.builder()
+                .agent(requester.agent(server.getEndpoint()).build())
+                .pdfDirectory(pdfs)
+                .progressLog(log)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package hu.gigsystem.szamlazz4j.batch;
+
+import hu.gigsystem.szamlazz4j.HttpClientRequester;
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.request.RawResponse;
+import hu.gigsystem.szamlazz4j.request.RequestRejectedException;
+import hu.gigsystem.szamlazz4j.testkit.StubBehavior;
+import hu.gigsystem.szamlazz4j.testkit.StubSzamlaServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentBatchTest {
+
+    private static final String PAYMENT = "action-szamla_agent_kifiz";
+    private static final String INVOICE_NUMBER = "E-STUB-2026-1";
+
+    private StubSzamlaServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = StubSzamlaServer.start(StubBehavior.defaults());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void paymentsAreRegisteredInChunks() throws Exception {
+        PaymentBatch batch = PaymentBatch.builder().agent(new HttpClientRequester().agent(server.getEndpoint()).build()).build();
+
+        BatchReport<PaymentBatch.InvoicePayments, XmlInvoiceResponse> report = batch.submit(statement(12));
+
+        assertTrue(report.isSuccess());
+        assertEquals(12, report.getResults().get(0).getItem().getRegistered());
+        assertEquals(3, server.getRequestCount(PAYMENT));
+    }
+
+    @Test
+    void failedSecondChunkIsReportedAsPartial() throws Exception {
+        AtomicInteger sent = new AtomicInteger();
+        HttpClientRequester requester = new HttpClientRequester() {
+            @Override
+            public RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+                if (sent.incrementAndGet() == 2) {
+                    server.setBehavior(StubBehavior.builder().errorCode(57).errorRate(1.0).build());
+                }
+                return super.execute(xmlPayload, fileName, agent, timeout);
+            }
+        };
+        PaymentBatch batch = PaymentBatch.builder().agent(requester.agent(server.getEndpoint()).build()).build();
+
+        BatchResult<PaymentBatch.InvoicePayments, XmlInvoiceResponse> result = batch.submit(statement(12)).getResults().get(0);
+
+        PartialPaymentException partial = assertInstanceOf(PartialPaymentException.class, result.getException());
+        assertEquals(5, partial.getRegistered());
+        assertEquals(12, partial.getTotal());
+        assertEquals(57, partial.getResponse().getErrorCode());
+        assertEquals(5, result.getItem().getRegistered());
+        assertEquals(2, server.getRequestCount(PAYMENT));
+    }
+
+    @Test
+    void rejectedSecondChunkIsRetriedWithoutRegisteringFirstChunkAgain() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        HttpClientRequester requester = new HttpClientRequester() {
+            @Override
+            public RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+                if (attempts.incrementAndGet() == 2) {
+                    throw new RequestRejectedException("Circuit breaker is open, request " + fileName + " was not sent!");
+                }
+                return super.execute(xmlPayload, fileName, agent, timeout);
+            }
+        };
+        PaymentBatch batch = PaymentBatch.builder()
+                .agent(requester.agent(server.getEndpoint()).build())
+                .executor(BatchExecutor.builder().maxAttempts(2).retryBackoff(Duration.ZERO).build())
+                .build();
+
+        BatchResult<PaymentBatch.InvoicePayments, XmlInvoiceResponse> result = batch.submit(statement(12)).getResults().get(0);
+
+        assertNull(result.getException());
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getAttempts());
+        assertEquals(12, result.getItem().getRegistered());
+        assertEquals(3, server.getRequestCount(PAYMENT));
+    }
+
+    @Test
+    void paymentWhichMayHaveBeenSentIsNotRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        HttpClientRequester requester = new HttpClientRequester() {
+            @Override
+            public RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+                RawResponse response = super.execute(xmlPayload, fileName, agent, timeout);
+                if (attempts.incrementAndGet() == 1) {
+                    response.close();
+                    throw new SocketTimeoutException("Read timed out");
+                }
+                return response;
+            }
+        };
+        PaymentBatch batch = PaymentBatch.builder()
+                .agent(requester.agent(server.getEndpoint()).build())
+                .executor(BatchExecutor.builder().maxAttempts(3).retryBackoff(Duration.ZERO).build())
+                .build();
+
+        BatchResult<PaymentBatch.InvoicePayments, XmlInvoiceResponse> result = batch.submit(statement(3)).getResults().get(0);
+
+        assertInstanceOf(SocketTimeoutException.class, result.getException());
+        assertEquals(1, result.getAttempts());
+        assertEquals(1, server.getRequestCount(PAYMENT));
+    }
+
+    /**
+     * A statement of payments on separate days, so none of them are merged.
+     */
+    private static Stream<PaymentBatch.Entry> statement(int payments) {
+        return IntStream.range(0, payments).mapToObj(day -> PaymentBatch.Entry.builder()
+                .invoiceNumber(INVOICE_NUMBER)
+                .date(LocalDate.of(2026, 10, 1).plusDays(day))
+                .paymentType("átutalás")
+                .amount(BigDecimal.valueOf(1000))
+                .build());
+    }
+}
@@ -0,0 +1,92 @@
+package hu.gigsystem.szamlazz4j.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OffHeapResponseCacheTest {
+
+    @Test
+    void responsesAreKeptUntilOverwritten() throws IOException {
+        OffHeapResponseCache cache = OffHeapResponseCache.builder().capacity(100).build();
+        cache.put("a", null, xml('a', 40));
+        cache.put("b", null, xml('b', 40));
+
+        assertEquals(xml('a', 40), get(cache, "a"));
+        assertEquals(xml('b', 40), get(cache, "b"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void responseNotFittingAtTheEndWrapsAround() throws IOException {
+        OffHeapResponseCache cache = OffHeapResponseCache.builder().capacity(100).build();
+        cache.put("a", null, xml('a', 40));
+        cache.put("b", null, xml('b', 40));
+        // skips the last 20 bytes and overwrites "a" at the start of the buffer
+        cache.put("c", null, xml('c', 40));
+
+        assertNull(get(cache, "a"));
+        assertEquals(xml('b', 40), get(cache, "b"));
+        assertEquals(xml('c', 40), get(cache, "c"));
+
+        cache.put("d", null, xml('d', 40));
+
+        assertNull(get(cache, "b"));
+        assertEquals(xml('c', 40), get(cache, "c"));
+        assertEquals(xml('d', 40), get(cache, "d"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void rewrittenResponseReplacesPreviousOne() throws IOException {
+        OffHeapResponseCache cache = OffHeapResponseCache.builder().capacity(100).build();
+        cache.put("a", null, xml('a', 30));
+        cache.put("a", null, xml('A', 30));
+
+        assertEquals(xml('A', 30), get(cache, "a"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void responseLargerThanBufferIsNotCached() throws IOException {
+        OffHeapResponseCache cache = OffHeapResponseCache.builder().capacity(100).build();
+        cache.put("a", null, xml('a', 40));
+        cache.put("large", null, xml('l', 101));
+
+        assertNull(get(cache, "large"));
+        assertEquals(xml('a', 40), get(cache, "a"));
+    }
+
+    @Test
+    void expiredResponseIsNotReturned() throws IOException {
+        OffHeapResponseCache cache = OffHeapResponseCache.builder().capacity(100).expireAfterWrite(Duration.ZERO).build();
+        cache.put("a", null, xml('a', 40));
+
+        assertNull(get(cache, "a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void headerResponsesWithoutXmlAreNotCached() throws IOException {
+        OffHeapResponseCache cache = OffHeapResponseCache.builder().capacity(100).build();
+        cache.put("a", "parsed", null);
+
+        assertNull(get(cache, "a"));
+        assertEquals(0, cache.size());
+    }
+
+    private static String get(OffHeapResponseCache cache, String key) throws IOException {
+        return cache.get(key, String.class, xml -> xml);
+    }
+
+    /**
+     * Returns a response of the given size in bytes.
+     */
+    private static String xml(char content, int size) {
+        return "<a>" + String.valueOf(content).repeat(size - 7) + "</a>";
+    }
+}
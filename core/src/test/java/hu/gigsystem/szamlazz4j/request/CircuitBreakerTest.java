@@ -0,0 +1,113 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import hu.gigsystem.szamlazz4j.HttpClientRequester;
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.model.invoice.query.InvoicePdfQueryRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.testkit.StubBehavior;
+import hu.gigsystem.szamlazz4j.testkit.StubSzamlaServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static CircuitBreaker breaker() {
+        return CircuitBreaker.builder()
+                .failureThreshold(1)
+                .openDuration(Duration.ZERO)
+                .build();
+    }
+
+    @Test
+    void successPermittedWhileClosedIsNotCountedAsProbe() throws IOException {
+        CircuitBreaker breaker = breaker();
+        CircuitBreaker.Permit slow = breaker.acquirePermission("test");
+        breaker.onFailure(breaker.acquirePermission("test"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        CircuitBreaker.Permit probe = breaker.acquirePermission("test");
+        assertTrue(probe.isProbe());
+        assertFalse(slow.isProbe());
+
+        breaker.onSuccess(slow);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(probe);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void failurePermittedWhileClosedDoesNotReopenHalfOpenCircuit() throws IOException {
+        CircuitBreaker breaker = breaker();
+        CircuitBreaker.Permit slow = breaker.acquirePermission("test");
+        breaker.onFailure(breaker.acquirePermission("test"));
+        breaker.acquirePermission("test");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onFailure(slow);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(1, breaker.getTransitionCount(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    void onlyCancelledProbeGivesItsSlotBack() throws IOException {
+        CircuitBreaker breaker = breaker();
+        CircuitBreaker.Permit slow = breaker.acquirePermission("test");
+        breaker.onFailure(breaker.acquirePermission("test"));
+        CircuitBreaker.Permit probe = breaker.acquirePermission("test");
+
+        breaker.onCancelled(slow);
+        assertThrows(RequestRejectedException.class, () -> breaker.acquirePermission("test"));
+
+        breaker.onCancelled(probe);
+        assertTrue(breaker.acquirePermission("test").isProbe());
+    }
+
+    @Test
+    void failingProbeReopensCircuit() throws IOException {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+                .failureThreshold(1)
+                .openDuration(Duration.ofMinutes(1))
+                .build();
+        breaker.onFailure(breaker.acquirePermission("test"));
+        assertThrows(RequestRejectedException.class, () -> breaker.acquirePermission("test"));
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    void circuitOpensOnServerErrorsAndClosesAfterProbe() throws Exception {
+        StubBehavior failing = StubBehavior.builder().errorCode(1).errorHttpStatus(503).build();
+        try (StubSzamlaServer server = StubSzamlaServer.start(failing)) {
+            CircuitBreaker breaker = CircuitBreaker.builder()
+                    .failureThreshold(2)
+                    .openDuration(Duration.ofMillis(200))
+                    .build();
+            SzamlaAgent agent = new HttpClientRequester().agent(server.getEndpoint())
+                    .enableCaching(false)
+                    .circuitBreaker(breaker)
+                    .build();
+
+            assertThrows(IOException.class, () -> query(agent));
+            assertThrows(IOException.class, () -> query(agent));
+            assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+            assertThrows(RequestRejectedException.class, () -> query(agent));
+            assertEquals(2, server.getRequestCount("szamla_agent_pdf"));
+
+            server.setBehavior(StubBehavior.defaults());
+            Thread.sleep(300);
+            assertTrue(query(agent).isSuccess());
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+            assertEquals(1, breaker.getTransitionCount(CircuitBreaker.State.HALF_OPEN));
+        }
+    }
+
+    private static XmlInvoiceResponse query(SzamlaAgent agent) throws Exception {
+        return agent.sendRequest(InvoicePdfQueryRequest.builder().invoiceNumber("E-STUB-2026-1").build(), XmlInvoiceResponse.class);
+    }
+}
@@ -0,0 +1,107 @@
+package hu.gigsystem.szamlazz4j.request;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private static final String FILE_NAME = "action-szamla_agent_pdf";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final SingleFlight flight = new SingleFlight();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch leaderStarted = new CountDownLatch(1);
+    private final CountDownLatch leaderReleased = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void followerSharesResultOfLeader() throws Exception {
+        Future<String> leader = lead(() -> "leader");
+        Future<String> follower = follow();
+        leaderReleased.countDown();
+
+        assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("leader", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, flight.getSharedCount());
+        assertEquals(0, flight.getInFlightCount());
+    }
+
+    @Test
+    void followerSharesFailureOfLeader() throws Exception {
+        IOException failure = new IOException("Connection refused");
+        Future<String> leader = lead(() -> {
+            throw failure;
+        });
+        Future<String> follower = follow();
+        leaderReleased.countDown();
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void followerRetriesCallAbandonedOnDeadlineOfLeader() throws Exception {
+        Future<String> leader = lead(() -> {
+            throw new DeadlineExceededException(FILE_NAME, Duration.ofMillis(1));
+        });
+        Future<String> follower = follow();
+        leaderReleased.countDown();
+
+        assertInstanceOf(DeadlineExceededException.class,
+                assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals("follower", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+        assertEquals(0, flight.getSharedCount());
+    }
+
+    /**
+     * Starts the leading call, which completes with the given attempt once released.
+     */
+    private Future<String> lead(Attempt<String> outcome) throws InterruptedException {
+        Future<String> leader = executor.submit(() -> flight.execute("key", () -> {
+            calls.incrementAndGet();
+            leaderStarted.countDown();
+            try {
+                leaderReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return outcome.call();
+        }, FILE_NAME, RequestOptions.DEFAULT, System.nanoTime()));
+        leaderStarted.await();
+        return leader;
+    }
+
+    /**
+     * Starts a call with the same key while the leader is running, and gives it time to start waiting.
+     */
+    private Future<String> follow() throws InterruptedException {
+        Future<String> follower = executor.submit(() -> flight.execute("key", () -> {
+            calls.incrementAndGet();
+            return "follower";
+        }, FILE_NAME, RequestOptions.DEFAULT, System.nanoTime()));
+        Thread.sleep(100);
+        return follower;
+    }
+}
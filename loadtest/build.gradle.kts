@@ -0,0 +1,62 @@
+plugins {
+    id("java")
+    application
+}
+
+group = "hu.gigsystem.szamlazz4j"
+
+repositories {
+    mavenCentral()
+}
+
+val springVersion = "6.2.8"
+val jacksonVersion = "2.19.1"
+val jmhVersion = "1.37"
+
+dependencies {
+    implementation(project(":core"))
+    implementation(project(":testkit"))
+    implementation(project(":transport-okhttp"))
+    implementation(project(":transport-resttemplate"))
+    implementation(platform("com.squareup.okhttp3:okhttp-bom:5.0.0"))
+    implementation("com.squareup.okhttp3:okhttp")
+    implementation("org.springframework:spring-web:$springVersion")
+    implementation("org.hdrhistogram:HdrHistogram:2.2.2")
+    implementation(platform("com.fasterxml.jackson:jackson-bom:$jacksonVersion"))
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-xml")
+    implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
+    implementation("org.openjdk.jmh:jmh-core:$jmhVersion")
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+application {
+    mainClass.set("hu.gigsystem.szamlazz4j.loadtest.LoadTest")
+    applicationDefaultJvmArgs = listOf("-Xms512m", "-Xmx512m", "-XX:+UseG1GC")
+}
+
+// ./gradlew :loadtest:run --args="--transport=okhttp --threads=32 --duration=60s --latency=80ms"
+tasks.named<JavaExec>("run") {
+    standardInput = System.`in`
+}
+
+// ./gradlew :loadtest:jmh --args="SerializationBenchmark -prof gc"
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH micro benchmarks."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+}
+
+// ./gradlew :loadtest:compression --args="200 65536"
+tasks.register<JavaExec>("compression") {
+    group = "verification"
+    description = "Measures the bytes on the wire with and without compression."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("hu.gigsystem.szamlazz4j.loadtest.CompressionBenchmark")
+}
@@ -0,0 +1,84 @@
+package hu.gigsystem.szamlazz4j.loadtest;
+
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.request.Compression;
+import hu.gigsystem.szamlazz4j.request.Requester;
+import hu.gigsystem.szamlazz4j.testkit.StubBehavior;
+import hu.gigsystem.szamlazz4j.testkit.StubSzamlaServer;
+import hu.gigsystem.szamlazz4j.transport.okhttp.OkHttpRequester;
+import hu.gigsystem.szamlazz4j.transport.resttemplate.RestTemplatRequester;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Measures the bytes on the wire of every {@link RequestMix} operation with each transport and compression setting,
+ * by counting the body bytes the stub server receives and sends.
+ *
+ * <p>Run it with {@code ./gradlew :loadtest:compression --args="[requests per operation] [pdf size in bytes]"},
+ * which defaults to {@code 200} requests and 64 KiB PDFs. The PDFs of the stub are random filled like the deflated
+ * streams of real PDFs, so the savings are close to those against the real endpoint.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public final class CompressionBenchmark {
+
+    private static final Map<String, Function<Compression, Requester>> TRANSPORTS = new LinkedHashMap<>();
+    private static final Map<String, Compression> SETTINGS = new LinkedHashMap<>();
+
+    static {
+        TRANSPORTS.put("okhttp", OkHttpRequester::new);
+        TRANSPORTS.put("resttemplate", RestTemplatRequester::new);
+        SETTINGS.put("none", Compression.NONE);
+        SETTINGS.put("responses", Compression.DEFAULT);
+        SETTINGS.put("both", Compression.builder().compressRequests(true).build());
+    }
+
+    private CompressionBenchmark() {
+        // static use only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of requests per operation and PDF size in bytes
+     * @throws Exception if the stub server cannot be started or a request fails
+     */
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int pdfSize = args.length > 1 ? Integer.parseInt(args[1]) : 64 * 1024;
+
+        try (StubSzamlaServer server = StubSzamlaServer.start(StubBehavior.builder().pdfSize(pdfSize).build())) {
+            System.out.printf(Locale.ROOT, "%-13s %-10s %-24s %12s %12s %10s%n", "transport", "compress", "operation", "sent B/req", "recv B/req", "ms/req");
+            for (Map.Entry<String, Function<Compression, Requester>> transport : TRANSPORTS.entrySet()) {
+                for (Map.Entry<String, Compression> setting : SETTINGS.entrySet()) {
+                    SzamlaAgent agent = SzamlaAgent.builder()
+                            .key("compression-benchmark")
+                            .endpoint(server.getEndpoint())
+                            .enableCaching(false)
+                            .requester(transport.getValue().apply(setting.getValue()))
+                            .build();
+                    SplittableRandom random = new SplittableRandom(42);
+                    for (RequestMix operation : RequestMix.values()) {
+                        long received = server.getBytesReceived();
+                        long sent = server.getBytesSent();
+                        long start = System.nanoTime();
+                        for (int i = 0; i < requests; i++) {
+                            if (!operation.send(agent, random, 50)) {
+                                throw new IllegalStateException(operation + " failed with " + transport.getKey());
+                            }
+                        }
+                        System.out.printf(Locale.ROOT, "%-13s %-10s %-24s %12d %12d %10.2f%n", transport.getKey(), setting.getKey(), operation,
+                                (server.getBytesReceived() - received) / requests, (server.getBytesSent() - sent) / requests,
+                                (System.nanoTime() - start) / 1e6 / requests);
+                    }
+                }
+            }
+        }
+    }
+}
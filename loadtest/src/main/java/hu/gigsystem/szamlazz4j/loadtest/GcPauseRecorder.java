@@ -0,0 +1,78 @@
+package hu.gigsystem.szamlazz4j.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.HdrHistogram.Histogram;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the duration of every stop-the-world GC pause through the JMX garbage collection notifications.
+ * Concurrent collector cycles (e.g. {@code G1 Concurrent GC}, {@code ZGC Cycles}) are not pauses and are skipped.
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+class GcPauseRecorder implements NotificationListener, AutoCloseable {
+
+    private final Histogram pauses = new Histogram(3);
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+    /**
+     * Starts listening to the notifications of every garbage collector of the JVM.
+     */
+    GcPauseRecorder() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        if (info.getGcName().contains("Concurrent") || info.getGcName().contains("Cycles")) {
+            return;
+        }
+        synchronized (pauses) {
+            pauses.recordValue(Math.max(0, info.getGcInfo().getDuration()));
+        }
+    }
+
+    /**
+     * Returns the pauses recorded since the previous call and starts a new interval.
+     *
+     * @return the pause durations in milliseconds
+     */
+    Histogram takeInterval() {
+        synchronized (pauses) {
+            Histogram interval = pauses.copy();
+            pauses.reset();
+            return interval;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // already removed
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package hu.gigsystem.szamlazz4j.loadtest;
+
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.request.Requester;
+import hu.gigsystem.szamlazz4j.testkit.StubBehavior;
+import hu.gigsystem.szamlazz4j.testkit.StubSzamlaServer;
+import hu.gigsystem.szamlazz4j.transport.okhttp.OkHttpRequester;
+import hu.gigsystem.szamlazz4j.transport.resttemplate.RestTemplatRequester;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Measures how many requests per second a single {@link SzamlaAgent} pushes through each transport,
+ * by driving {@link SzamlaAgent#sendRequest} with a realistic {@link RequestMix} against a local stub server.
+ *
+ * <p>For every transport the tool runs a warm-up period, then a measured period, and reports the throughput,
+ * the latency percentiles (HdrHistogram), the allocation rate of the calling threads and the GC pauses.
+ * Run it with {@code ./gradlew :loadtest:run --args="..."}, see {@link LoadTestOptions} for the arguments.</p>
+ *
+ * <p>New transports are measured by registering them in {@link #TRANSPORTS}.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public final class LoadTest {
+
+    /**
+     * The transports which can be measured, by the name used in the {@code --transport} argument.
+     */
+    private static final Map<String, Supplier<Requester>> TRANSPORTS = new LinkedHashMap<>();
+
+    static {
+        TRANSPORTS.put("okhttp", OkHttpRequester::new);
+        TRANSPORTS.put("resttemplate", RestTemplatRequester::new);
+    }
+
+    private LoadTest() {
+        // static use only
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the command line arguments, see {@link LoadTestOptions}
+     * @throws Exception if the stub server cannot be started or the test is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        List<String> transports = options.transports.contains("all") ? new ArrayList<>(TRANSPORTS.keySet()) : options.transports;
+        for (String transport : transports) {
+            if (!TRANSPORTS.containsKey(transport)) {
+                throw new IllegalArgumentException("Unknown transport: " + transport + ", available: " + TRANSPORTS.keySet());
+            }
+        }
+
+        StubSzamlaServer server = null;
+        String endpoint = options.endpoint;
+        if (endpoint == null) {
+            server = StubSzamlaServer.start(StubBehavior.builder()
+                    .latency(options.latency)
+                    .latencyJitter(options.jitter)
+                    .pdfSize(options.pdfSize)
+                    .build());
+            endpoint = server.getEndpoint();
+        }
+
+        try (GcPauseRecorder gc = new GcPauseRecorder()) {
+            for (String transport : transports) {
+                run(transport, TRANSPORTS.get(transport).get(), endpoint, options, gc).print();
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    /**
+     * Drives one transport through a warm-up and a measured period.
+     */
+    private static Result run(String transport, Requester requester, String endpoint, LoadTestOptions options, GcPauseRecorder gc) throws InterruptedException {
+        SzamlaAgent agent = SzamlaAgent.builder()
+                .key("load-test")
+                .endpoint(endpoint)
+                .enableCaching(false)
+                .requester(requester)
+                .build();
+
+        Recorder latency = new Recorder(3);
+        Map<RequestMix, LongAdder> succeeded = new EnumMap<>(RequestMix.class);
+        for (RequestMix operation : RequestMix.values()) {
+            succeeded.put(operation, new LongAdder());
+        }
+        LongAdder failed = new LongAdder();
+        Worker[] workers = new Worker[options.threads];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(agent, options.maxItems, latency, succeeded, failed);
+            workers[i].setName("load-" + transport + "-" + i);
+            workers[i].start();
+        }
+
+        Thread.sleep(options.warmup.toMillis());
+        latency.reset();
+        succeeded.values().forEach(LongAdder::reset);
+        failed.reset();
+        gc.takeInterval();
+        long allocatedBefore = allocatedBytes(workers);
+        long start = System.nanoTime();
+
+        Thread.sleep(options.duration.toMillis());
+        Histogram histogram = latency.getIntervalHistogram();
+        Map<RequestMix, Long> counts = new EnumMap<>(RequestMix.class);
+        succeeded.forEach((operation, count) -> counts.put(operation, count.sum()));
+        long failures = failed.sum();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long allocated = allocatedBytes(workers) - allocatedBefore;
+        Histogram pauses = gc.takeInterval();
+
+        for (Worker worker : workers) {
+            worker.running = false;
+        }
+        for (Worker worker : workers) {
+            worker.join();
+        }
+        return new Result(transport, options.threads, seconds, histogram, counts, failures, allocated, pauses);
+    }
+
+    private static long allocatedBytes(Thread[] threads) {
+        long[] ids = new long[threads.length];
+        for (int i = 0; i < threads.length; i++) {
+            ids[i] = threads[i].getId();
+        }
+        long sum = 0;
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (long bytes : bean.getThreadAllocatedBytes(ids)) {
+            sum += Math.max(0, bytes);
+        }
+        return sum;
+    }
+
+    /**
+     * A caller thread sending requests back to back until stopped.
+     */
+    private static final class Worker extends Thread {
+        private final SzamlaAgent agent;
+        private final int maxItems;
+        private final Recorder latency;
+        private final Map<RequestMix, LongAdder> succeeded;
+        private final LongAdder failed;
+        private final SplittableRandom random = new SplittableRandom();
+        private volatile boolean running = true;
+
+        private Worker(SzamlaAgent agent, int maxItems, Recorder latency, Map<RequestMix, LongAdder> succeeded, LongAdder failed) {
+            this.agent = agent;
+            this.maxItems = maxItems;
+            this.latency = latency;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                RequestMix operation = RequestMix.pick(random);
+                long start = System.nanoTime();
+                boolean success;
+                try {
+                    success = operation.send(agent, random, maxItems);
+                } catch (Exception e) {
+                    success = false;
+                }
+                latency.recordValue((System.nanoTime() - start) / 1_000);
+                if (success) {
+                    succeeded.get(operation).increment();
+                } else {
+                    failed.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * The measurements of one transport.
+     */
+    private static final class Result {
+        private final String transport;
+        private final int threads;
+        private final double seconds;
+        private final Histogram latency;
+        private final Map<RequestMix, Long> succeeded;
+        private final long failed;
+        private final long allocated;
+        private final Histogram pauses;
+
+        private Result(String transport, int threads, double seconds, Histogram latency, Map<RequestMix, Long> succeeded,
+                       long failed, long allocated, Histogram pauses) {
+            this.transport = transport;
+            this.threads = threads;
+            this.seconds = seconds;
+            this.latency = latency;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.allocated = allocated;
+            this.pauses = pauses;
+        }
+
+        private void print() {
+            long total = succeeded.values().stream().mapToLong(Long::longValue).sum();
+            long invoices = succeeded.get(RequestMix.CREATE_INVOICE) + succeeded.get(RequestMix.CREATE_INVOICE_WITH_PDF);
+            long requests = Math.max(1, total + failed);
+
+            System.out.printf(Locale.ROOT, "== %s: %d threads, %.1f s%n", transport, threads, seconds);
+            System.out.printf(Locale.ROOT, "requests      %d ok, %d failed%n", total, failed);
+            System.out.printf(Locale.ROOT, "throughput    %.1f req/s, %.1f invoices/s%n", total / seconds, invoices / seconds);
+            System.out.printf(Locale.ROOT, "latency ms    p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()));
+            System.out.printf(Locale.ROOT, "allocation    %.1f MB/s, %.1f KB/request%n",
+                    allocated / seconds / (1024 * 1024), allocated / (double) requests / 1024);
+            System.out.printf(Locale.ROOT, "gc pauses     %d pauses, %d ms total, p99 %d ms, max %d ms%n",
+                    pauses.getTotalCount(), totalMillis(pauses), pauses.getValueAtPercentile(99), pauses.getMaxValue());
+            for (Map.Entry<RequestMix, Long> entry : succeeded.entrySet()) {
+                System.out.printf(Locale.ROOT, "  %-24s %.1f req/s%n", entry.getKey(), entry.getValue() / seconds);
+            }
+        }
+
+        private static double millis(long micros) {
+            return micros / 1_000.0;
+        }
+
+        private static long totalMillis(Histogram pauses) {
+            return Math.round(pauses.getMean() * pauses.getTotalCount());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package hu.gigsystem.szamlazz4j.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command line options of the {@link LoadTest}, given as {@code --name=value} pairs.
+ *
+ * <ul>
+ *   <li>{@code --transport} — comma separated transports to test, or {@code all} (default)</li>
+ *   <li>{@code --threads} — number of concurrent callers (default {@code 16})</li>
+ *   <li>{@code --warmup} — warm-up period whose results are discarded (default {@code 10s})</li>
+ *   <li>{@code --duration} — measured period (default {@code 30s})</li>
+ *   <li>{@code --endpoint} — endpoint of an already running stub, instead of starting one in-process</li>
+ *   <li>{@code --latency} — server side latency of the in-process stub (default {@code 50ms})</li>
+ *   <li>{@code --jitter} — server side latency jitter of the in-process stub (default {@code 20ms})</li>
+ *   <li>{@code --pdf-size} — size of the PDFs generated by the in-process stub (default {@code 65536})</li>
+ *   <li>{@code --max-items} — maximum number of items of a generated invoice (default {@code 20})</li>
+ * </ul>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+class LoadTestOptions {
+
+    List<String> transports = List.of("all");
+    int threads = 16;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(30);
+    String endpoint;
+    Duration latency = Duration.ofMillis(50);
+    Duration jitter = Duration.ofMillis(20);
+    int pdfSize = 64 * 1024;
+    int maxItems = 20;
+
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args the arguments
+     * @return the parsed options
+     * @throws IllegalArgumentException if an argument is unknown or malformed
+     */
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Arguments must be given as --name=value, got: " + arg);
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "transport" -> options.transports = Arrays.asList(value.split(","));
+                case "threads" -> options.threads = Integer.parseInt(value);
+                case "warmup" -> options.warmup = parseDuration(value);
+                case "duration" -> options.duration = parseDuration(value);
+                case "endpoint" -> options.endpoint = value;
+                case "latency" -> options.latency = parseDuration(value);
+                case "jitter" -> options.jitter = parseDuration(value);
+                case "pdf-size" -> options.pdfSize = Integer.parseInt(value);
+                case "max-items" -> options.maxItems = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Parses durations like {@code 250ms}, {@code 30s} or {@code 5m}.
+     *
+     * @param value the duration text
+     * @return the parsed duration
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofMillis(Long.parseLong(value));
+    }
+}
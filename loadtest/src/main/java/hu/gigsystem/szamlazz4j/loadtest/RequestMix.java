@@ -0,0 +1,166 @@
+package hu.gigsystem.szamlazz4j.loadtest;
+
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.model.invoice.XmlInvoiceResponse;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceHeader;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceItem;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceSettings;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceTotalsCalculator;
+import hu.gigsystem.szamlazz4j.model.invoice.query.InvoicePdfQueryRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.query.InvoiceQueryRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.query.response.FullInvoiceResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A realistic mix of agent operations: mostly invoice creation with a varying number of items,
+ * some of them downloading the PDF, plus PDF downloads and full invoice queries of existing invoices.
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+enum RequestMix {
+
+    /**
+     * Invoice creation without PDF download.
+     */
+    CREATE_INVOICE(45) {
+        @Override
+        boolean send(SzamlaAgent agent, SplittableRandom random, int maxItems) throws Exception {
+            return agent.sendRequest(invoice(random, maxItems, false), XmlInvoiceResponse.class).isSuccess();
+        }
+    },
+
+    /**
+     * Invoice creation with the PDF returned in the response.
+     */
+    CREATE_INVOICE_WITH_PDF(15) {
+        @Override
+        boolean send(SzamlaAgent agent, SplittableRandom random, int maxItems) throws Exception {
+            return agent.sendRequest(invoice(random, maxItems, true), XmlInvoiceResponse.class).isSuccess();
+        }
+    },
+
+    /**
+     * PDF download of an existing invoice.
+     */
+    QUERY_PDF(25) {
+        @Override
+        boolean send(SzamlaAgent agent, SplittableRandom random, int maxItems) throws Exception {
+            InvoicePdfQueryRequest request = InvoicePdfQueryRequest.builder()
+                    .invoiceNumber(invoiceNumber(random))
+                    .build();
+            return agent.sendRequest(request, XmlInvoiceResponse.class).isSuccess();
+        }
+    },
+
+    /**
+     * Full data query of an existing invoice.
+     */
+    QUERY_INVOICE(15) {
+        @Override
+        boolean send(SzamlaAgent agent, SplittableRandom random, int maxItems) throws Exception {
+            InvoiceQueryRequest request = InvoiceQueryRequest.builder()
+                    .invoiceNumber(invoiceNumber(random))
+                    .build();
+            return agent.sendRequest(request, FullInvoiceResponse.class).getBase() != null;
+        }
+    };
+
+    private static final InvoiceTotalsCalculator CALCULATOR = InvoiceTotalsCalculator.builder().build();
+    private static final String[] VAT_RATES = {"27", "27", "27", "18", "5", InvoiceItem.VAT_AAM};
+    private static final int TOTAL_WEIGHT = totalWeight();
+
+    private final int weight;
+
+    RequestMix(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Sends one request of this kind.
+     *
+     * @param agent    the agent to send with
+     * @param random   the random source of the calling thread
+     * @param maxItems the maximum number of items of generated invoices
+     * @return whether the response reported success
+     * @throws Exception if the request fails
+     */
+    abstract boolean send(SzamlaAgent agent, SplittableRandom random, int maxItems) throws Exception;
+
+    /**
+     * Picks an operation according to the weights of the mix.
+     *
+     * @param random the random source of the calling thread
+     * @return the picked operation
+     */
+    static RequestMix pick(SplittableRandom random) {
+        int ticket = random.nextInt(TOTAL_WEIGHT);
+        for (RequestMix operation : values()) {
+            ticket -= operation.weight;
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return CREATE_INVOICE;
+    }
+
+    private static int totalWeight() {
+        int total = 0;
+        for (RequestMix operation : values()) {
+            total += operation.weight;
+        }
+        return total;
+    }
+
+    private static String invoiceNumber(SplittableRandom random) {
+        return "STUB-" + LocalDate.now().getYear() + "-" + (1 + random.nextInt(100_000));
+    }
+
+    private static InvoiceRequest invoice(SplittableRandom random, int maxItems, boolean withPdf) {
+        int itemCount = 1 + random.nextInt(maxItems);
+        List<InvoiceItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(10));
+            BigDecimal unitPrice = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+            String vatRate = VAT_RATES[random.nextInt(VAT_RATES.length)];
+            InvoiceTotalsCalculator.LineTotal line = CALCULATOR.line(quantity, unitPrice, vatRate);
+            items.add(InvoiceItem.builder()
+                    .name("Tétel " + i)
+                    .quantity(quantity)
+                    .quantityUnit("db")
+                    .netUnitPrice(unitPrice)
+                    .vatRate(vatRate)
+                    .netPrice(line.getNetPrice())
+                    .vatAmount(line.getVatAmount())
+                    .totalPrice(line.getTotalPrice())
+                    .build());
+        }
+
+        LocalDate today = LocalDate.now();
+        return InvoiceRequest.builder()
+                .settings(InvoiceSettings.builder().downloadInvoice(withPdf).build())
+                .header(InvoiceHeader.builder()
+                        .createdAt(today)
+                        .paidAt(today)
+                        .paymentDeadlineAt(today.plusDays(8))
+                        .paymentMethod("Átutalás")
+                        .orderNumber("LOAD-" + random.nextLong(Long.MAX_VALUE))
+                        .build())
+                .seller(InvoiceRequest.Seller.builder().build())
+                .customer(InvoiceRequest.Customer.builder()
+                        .name("Terheléses Teszt Kft.")
+                        .postCode("1111")
+                        .city("Budapest")
+                        .address("Teszt utca 1.")
+                        .build())
+                .items(items)
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package hu.gigsystem.szamlazz4j.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceHeader;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceItem;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoicePrototype;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceRequest;
+import hu.gigsystem.szamlazz4j.model.invoice.create.InvoiceSettings;
+import hu.gigsystem.szamlazz4j.transport.okhttp.OkHttpRequester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the serialization paths of an invoice request: the reflective {@link XmlMapper} the agent used before,
+ * the agent's mapper with Blackbird generated property accessors, and the pre-serialized {@link InvoicePrototype}.
+ * Run it with {@code ./gradlew :loadtest:jmh --args="SerializationBenchmark -prof gc"}.
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    int itemCount;
+
+    private SzamlaAgent agent;
+    private XmlMapper reflective;
+    private InvoicePrototype prototype;
+    private InvoiceRequest.Customer customer;
+    private List<InvoiceItem> items;
+
+    @Setup
+    public void setup() {
+        agent = SzamlaAgent.builder()
+                .key("benchmark")
+                .bank("Teszt Bank")
+                .bankNumber("11111111-22222222-33333333")
+                .requester(new OkHttpRequester())
+                .build();
+        reflective = (XmlMapper) new XmlMapper()
+                .configure(ToXmlGenerator.Feature.WRITE_XML_DECLARATION, true)
+                .configure(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN, true)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .registerModule(new JavaTimeModule())
+                .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+
+        prototype = InvoicePrototype.builder()
+                .agent(agent)
+                .settings(InvoiceSettings.builder().build())
+                .header(header())
+                .build();
+        customer = InvoiceRequest.Customer.builder()
+                .name("Teszt Vevő Kft.")
+                .postCode("1111")
+                .city("Budapest")
+                .address("Teszt utca 1.")
+                .email("vevo@example.com")
+                .build();
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(InvoiceItem.builder()
+                    .name("Tétel " + i)
+                    .quantity(BigDecimal.valueOf(2))
+                    .quantityUnit("db")
+                    .netUnitPrice(new BigDecimal("1000.00"))
+                    .vatRate("27")
+                    .netPrice(new BigDecimal("2000.00"))
+                    .vatAmount(new BigDecimal("540.00"))
+                    .totalPrice(new BigDecimal("2540.00"))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public String reflective() throws Exception {
+        return reflective.writeValueAsString(invoice());
+    }
+
+    @Benchmark
+    public String blackbird() throws Exception {
+        return agent.getMapping().write(invoice());
+    }
+
+    @Benchmark
+    public String prototype() throws Exception {
+        return prototype.create(customer, items).toXml(agent.getMapping());
+    }
+
+    private InvoiceRequest invoice() {
+        InvoiceRequest request = InvoiceRequest.builder()
+                .settings(InvoiceSettings.builder().build())
+                .header(header())
+                .seller(InvoiceRequest.Seller.builder().build())
+                .customer(customer)
+                .items(items)
+                .build();
+        request.setAgent(agent);
+        return request;
+    }
+
+    private static InvoiceHeader header() {
+        LocalDate today = LocalDate.of(2026, 10, 19);
+        return InvoiceHeader.builder()
+                .createdAt(today)
+                .paidAt(today)
+                .paymentDeadlineAt(today.plusDays(8))
+                .paymentMethod("Átutalás")
+                .build();
+    }
+}
@@ -19,4 +19,6 @@ rootProject.name = "szamlazz4j"
 include("core")
 include("transport-okhttp")
 include("transport-resttemplate")
+include("testkit")
+include("loadtest")
 include("test")
\ No newline at end of file
@@ -0,0 +1,98 @@
+package hu.gigsystem.szamlazz4j.testkit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The XML file uploaded to the agent API, extracted from the first part of a {@code multipart/form-data} body.
+ *
+ * <p>This is a deliberately small parser: the agent API only ever receives a single file part,
+ * so anything after the first part is ignored.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@RequiredArgsConstructor
+class MultipartUpload {
+
+    private static final Pattern BOUNDARY = Pattern.compile("boundary=\"?([^\";]+)\"?");
+    private static final Pattern NAME = Pattern.compile("name=\"([^\"]*)\"");
+    private static final Map<String, Pattern> ELEMENTS = new ConcurrentHashMap<>();
+
+    /**
+     * The form field name of the part, which is the agent action (e.g. {@code action-xmlagentxmlfile}).
+     */
+    private final String name;
+
+    /**
+     * The uploaded XML document.
+     */
+    private final String xml;
+
+    /**
+     * Parses the first part of a multipart body.
+     *
+     * @param contentType the {@code Content-Type} header of the request
+     * @param body        the raw request body
+     * @return the uploaded part, or {@code null} if the body is not a multipart upload
+     */
+    static MultipartUpload parse(String contentType, byte[] body) {
+        if (contentType == null) {
+            return null;
+        }
+        Matcher boundaryMatcher = BOUNDARY.matcher(contentType);
+        if (!boundaryMatcher.find()) {
+            return null;
+        }
+        // ISO-8859-1 maps bytes to chars one-to-one, so the offsets found here are valid byte offsets
+        String raw = new String(body, StandardCharsets.ISO_8859_1);
+        String delimiter = "--" + boundaryMatcher.group(1);
+
+        int partStart = raw.indexOf(delimiter);
+        if (partStart < 0) {
+            return null;
+        }
+        partStart += delimiter.length() + 2;
+        int headersEnd = raw.indexOf("\r\n\r\n", partStart);
+        int partEnd = raw.indexOf("\r\n" + delimiter, headersEnd < 0 ? partStart : headersEnd);
+        if (headersEnd < 0 || partEnd < 0) {
+            return null;
+        }
+
+        Matcher nameMatcher = NAME.matcher(raw.substring(partStart, headersEnd));
+        if (!nameMatcher.find()) {
+            return null;
+        }
+        String xml = new String(body, headersEnd + 4, partEnd - headersEnd - 4, StandardCharsets.UTF_8);
+        return new MultipartUpload(nameMatcher.group(1), xml);
+    }
+
+    /**
+     * Returns the action without the optional {@code action-} prefix, e.g. {@code szamla_agent_pdf}.
+     *
+     * @return the normalized action name
+     */
+    String getAction() {
+        return name.startsWith("action-") ? name.substring("action-".length()) : name;
+    }
+
+    /**
+     * Returns the text of the first element with the given local name in the uploaded XML, ignoring namespace prefixes.
+     *
+     * @param localName the local name of the element
+     * @return the text content, or {@code null} if the element is not present
+     */
+    String element(String localName) {
+        Matcher matcher = ELEMENTS.computeIfAbsent(localName, name ->
+                Pattern.compile("<(?:[\\w-]+:)?" + Pattern.quote(name) + "(?:\\s[^>]*)?>([^<]*)</")).matcher(xml);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
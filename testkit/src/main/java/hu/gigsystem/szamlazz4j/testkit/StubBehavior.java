@@ -0,0 +1,81 @@
+package hu.gigsystem.szamlazz4j.testkit;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Describes how a {@link StubSzamlaServer} answers incoming requests: how long it waits before responding,
+ * how large the generated PDFs are and which errors it injects.
+ *
+ * <p>Instances are immutable, and can be swapped on a running server with
+ * {@link StubSzamlaServer#setBehavior(StubBehavior)} to inject faults in the middle of a soak test.</p>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+@Getter
+@Builder(builderClassName = "Builder", toBuilder = true)
+public class StubBehavior {
+
+    /**
+     * Fixed delay added before every response. Defaults to no delay.
+     */
+    @lombok.Builder.Default
+    private final Duration latency = Duration.ZERO;
+
+    /**
+     * Upper bound of the uniformly distributed random delay added on top of {@link #latency}.
+     * Defaults to no jitter.
+     */
+    @lombok.Builder.Default
+    private final Duration latencyJitter = Duration.ZERO;
+
+    /**
+     * Size of the generated invoice PDFs in bytes. Defaults to 64 KiB.
+     */
+    @lombok.Builder.Default
+    private final int pdfSize = 64 * 1024;
+
+    /**
+     * The Számlázz.hu error code ({@code hibakod}) to answer with, or {@code null} to answer every request successfully.
+     */
+    private final Integer errorCode;
+
+    /**
+     * The error message ({@code hibauzenet}) sent along with {@link #errorCode}.
+     */
+    @lombok.Builder.Default
+    private final String errorMessage = "Stub error";
+
+    /**
+     * The ratio of requests, between {@code 0} and {@code 1}, answered with {@link #errorCode}. Defaults to {@code 1}.
+     */
+    @lombok.Builder.Default
+    private final double errorRate = 1.0;
+
+    /**
+     * The HTTP status code of error responses. Defaults to {@code 200}, as the agent API reports most errors
+     * in the response body and headers.
+     */
+    @lombok.Builder.Default
+    private final int errorHttpStatus = 200;
+
+    /**
+     * Whether responses are gzip compressed for clients sending {@code Accept-Encoding: gzip}. Defaults to {@code true}.
+     * Compressed uploads ({@code Content-Encoding: gzip}) are always accepted.
+     */
+    @lombok.Builder.Default
+    private final boolean compression = true;
+
+    /**
+     * Creates a behavior which answers every request immediately and successfully.
+     *
+     * @return the default behavior
+     */
+    public static StubBehavior defaults() {
+        return builder().build();
+    }
+}
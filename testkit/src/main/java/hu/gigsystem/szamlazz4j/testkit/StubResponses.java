@@ -0,0 +1,237 @@
+package hu.gigsystem.szamlazz4j.testkit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders the responses of the agent API actions, in the same shape as the real Számlázz.hu agent:
+ * XML bodies for response version {@code 2}, raw PDF or plain text bodies for response version {@code 1},
+ * and the {@code szlahu_*} result headers for both.
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+class StubResponses {
+
+    private static final Pattern NET_VALUE = Pattern.compile("<(?:[\\w-]+:)?nettoErtek>([^<]*)<");
+    private static final Pattern GROSS_VALUE = Pattern.compile("<(?:[\\w-]+:)?bruttoErtek>([^<]*)<");
+
+    private final AtomicLong invoiceCounter = new AtomicLong();
+    private final byte[] pdf;
+    private final String pdfBase64;
+
+    /**
+     * Creates the renderer and generates the PDF every download answers with.
+     *
+     * @param pdfSize the size of the generated PDF in bytes
+     */
+    StubResponses(int pdfSize) {
+        this.pdf = generatePdf(pdfSize);
+        this.pdfBase64 = Base64.getEncoder().encodeToString(pdf);
+    }
+
+    /**
+     * Renders the successful response of the given upload.
+     *
+     * @param upload the uploaded request
+     * @return the response, or a {@code 400} response if the action is unknown
+     */
+    StubResponse success(MultipartUpload upload) {
+        switch (upload.getAction()) {
+            case "xmlagentxmlfile":
+            case "szamla_agent_st":
+                return invoice(upload, nextInvoiceNumber(), "true".equals(upload.element("szamlaLetoltes")));
+            case "szamla_agent_pdf":
+                return invoice(upload, upload.element("szamlaszam"), true);
+            case "szamla_agent_kifiz":
+                return invoice(upload, upload.element("szamlaszam"), false);
+            case "szamla_agent_xml":
+                return fullInvoice(upload);
+            case "szamla_agent_dijbekero_torlese":
+                return xml(200, new LinkedHashMap<>(), "<xmlszamladbkdelvalasz xmlns=\"http://www.szamlazz.hu/xmlszamladbkdelvalasz\">"
+                        + "<sikeres>true</sikeres></xmlszamladbkdelvalasz>");
+            default:
+                return new StubResponse(400, "text/plain; charset=UTF-8", new LinkedHashMap<>(),
+                        ("Unknown agent action: " + upload.getName()).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Renders an error response, reported both in the body and in the {@code szlahu_error*} headers.
+     *
+     * @param upload   the uploaded request
+     * @param behavior the behavior describing the error
+     * @return the error response
+     */
+    StubResponse error(MultipartUpload upload, StubBehavior behavior) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("szlahu_error", URLEncoder.encode(behavior.getErrorMessage(), StandardCharsets.UTF_8));
+        headers.put("szlahu_error_code", String.valueOf(behavior.getErrorCode()));
+        if ("1".equals(upload.element("valaszVerzio"))) {
+            return new StubResponse(behavior.getErrorHttpStatus(), "text/plain; charset=UTF-8", headers,
+                    behavior.getErrorMessage().getBytes(StandardCharsets.UTF_8));
+        }
+        return xml(behavior.getErrorHttpStatus(), headers, "<xmlszamlavalasz xmlns=\"http://www.szamlazz.hu/xmlszamlavalasz\">"
+                + "<sikeres>false</sikeres>"
+                + "<hibakod>" + behavior.getErrorCode() + "</hibakod>"
+                + "<hibauzenet>" + escape(behavior.getErrorMessage()) + "</hibauzenet>"
+                + "</xmlszamlavalasz>");
+    }
+
+    /**
+     * Renders an {@code xmlszamlavalasz} style response.
+     *
+     * @param upload        the uploaded request
+     * @param invoiceNumber the invoice number to answer with
+     * @param withPdf       whether the invoice PDF is part of the response
+     * @return the response
+     */
+    private StubResponse invoice(MultipartUpload upload, String invoiceNumber, boolean withPdf) {
+        BigDecimal net = sum(NET_VALUE, upload.getXml());
+        BigDecimal gross = sum(GROSS_VALUE, upload.getXml());
+        String customerUrl = "https://www.szamlazz.hu/szamla/vevoifiok/" + invoiceNumber;
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("szlahu_szamlaszam", invoiceNumber == null ? "" : invoiceNumber);
+        headers.put("szlahu_nettovegosszeg", net.toPlainString());
+        headers.put("szlahu_bruttovegosszeg", gross.toPlainString());
+        headers.put("szlahu_kintlevoseg", gross.toPlainString());
+        headers.put("szlahu_vevoifiokurl", URLEncoder.encode(customerUrl, StandardCharsets.UTF_8));
+
+        if ("1".equals(upload.element("valaszVerzio"))) {
+            if (withPdf) {
+                return new StubResponse(200, "application/pdf", headers, pdf);
+            }
+            return new StubResponse(200, "text/plain; charset=UTF-8", headers,
+                    ("xmlagentresponse=DONE;" + invoiceNumber).getBytes(StandardCharsets.UTF_8));
+        }
+
+        StringBuilder xml = new StringBuilder(256 + (withPdf ? pdfBase64.length() : 0))
+                .append("<xmlszamlavalasz xmlns=\"http://www.szamlazz.hu/xmlszamlavalasz\">")
+                .append("<sikeres>true</sikeres>")
+                .append("<szamlaszam>").append(escape(invoiceNumber)).append("</szamlaszam>")
+                .append("<szamlanetto>").append(net.toPlainString()).append("</szamlanetto>")
+                .append("<szamlabrutto>").append(gross.toPlainString()).append("</szamlabrutto>")
+                .append("<kintlevoseg>").append(gross.toPlainString()).append("</kintlevoseg>")
+                .append("<vevoifiokurl>").append(escape(customerUrl)).append("</vevoifiokurl>");
+        if (withPdf) {
+            xml.append("<pdf>").append(pdfBase64).append("</pdf>");
+        }
+        return xml(200, headers, xml.append("</xmlszamlavalasz>").toString());
+    }
+
+    /**
+     * Renders the {@code szamla} document returned by the invoice query.
+     *
+     * @param upload the uploaded request
+     * @return the response
+     */
+    private StubResponse fullInvoice(MultipartUpload upload) {
+        String invoiceNumber = upload.element("szamlaszam");
+        if (invoiceNumber == null) {
+            invoiceNumber = "STUB-" + upload.element("rendelesSzam");
+        }
+        String today = LocalDate.now().toString();
+        StringBuilder xml = new StringBuilder(2048 + pdfBase64.length())
+                .append("<szamla xmlns=\"http://www.szamlazz.hu/szamla\">")
+                .append("<szallito><id>1</id><nev>Stub Kft.</nev>")
+                .append("<cim><orszag>Magyarország</orszag><irsz>1111</irsz><telepules>Budapest</telepules><cim>Stub utca 1.</cim></cim>")
+                .append("<adoszam>12345678-1-42</adoszam><bank><nev>Stub Bank</nev><bankszamla>11111111-22222222-33333333</bankszamla></bank>")
+                .append("</szallito>")
+                .append("<alap><id>1</id><szamlaszam>").append(escape(invoiceNumber)).append("</szamlaszam>")
+                .append("<tipus>SZ</tipus><eszamla>0</eszamla>")
+                .append("<kelt>").append(today).append("</kelt><telj>").append(today).append("</telj><fizh>").append(today).append("</fizh>")
+                .append("<fizmod>Átutalás</fizmod><fizmodunified>átutalás</fizmodunified><nyelv>hu</nyelv>")
+                .append("<devizanem>HUF</devizanem><devizaarf>1</devizaarf><megjegyzes></megjegyzes>")
+                .append("<penzforg>false</penzforg><kata>false</kata><email>vevo@example.com</email><tesyt>true</tesyt></alap>")
+                .append("<vevo><id>1</id><nev>Stub Vevő</nev>")
+                .append("<cim><orszag>Magyarország</orszag><irsz>1111</irsz><telepules>Budapest</telepules><cim>Vevő utca 2.</cim></cim>")
+                .append("<email>vevo@example.com</email><adoszam></adoszam></vevo>")
+                .append("<tetelek><tetel><nev>Stub tétel</nev><mennyiseg>1.0</mennyiseg><mennyisegiegyseg>db</mennyisegiegyseg>")
+                .append("<nettoegysegar>1000.00</nettoegysegar><afakulcs>27</afakulcs><netto>1000.00</netto><afa>270.00</afa><brutto>1270.00</brutto>")
+                .append("</tetel></tetelek>")
+                .append("<osszegek><afakulcsossz><afakulcs>27</afakulcs><netto>1000.00</netto><afa>270.00</afa><brutto>1270.00</brutto></afakulcsossz>")
+                .append("<totalossz><netto>1000.00</netto><afa>270.00</afa><brutto>1270.00</brutto></totalossz></osszegek>");
+        if ("true".equals(upload.element("pdf"))) {
+            xml.append("<pdf>").append(pdfBase64).append("</pdf>");
+        }
+        return xml(200, new LinkedHashMap<>(), xml.append("</szamla>").toString());
+    }
+
+    private String nextInvoiceNumber() {
+        return "STUB-" + LocalDate.now().getYear() + "-" + invoiceCounter.incrementAndGet();
+    }
+
+    private static StubResponse xml(int status, Map<String, String> headers, String body) {
+        return new StubResponse(status, "application/xml; charset=UTF-8", headers,
+                ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BigDecimal sum(Pattern pattern, String xml) {
+        BigDecimal sum = BigDecimal.ZERO;
+        Matcher matcher = pattern.matcher(xml);
+        while (matcher.find()) {
+            sum = sum.add(new BigDecimal(matcher.group(1).trim()));
+        }
+        return sum;
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * Generates a structurally valid, blank PDF padded with a comment to the requested size.
+     *
+     * @param size the requested size in bytes
+     * @return the PDF bytes
+     */
+    private static byte[] generatePdf(int size) {
+        byte[] head = ("%PDF-1.4\n"
+                + "1 0 obj<</Type/Catalog/Pages 2 0 R>>endobj\n"
+                + "2 0 obj<</Type/Pages/Kids[3 0 R]/Count 1>>endobj\n"
+                + "3 0 obj<</Type/Page/Parent 2 0 R/MediaBox[0 0 595 842]>>endobj\n"
+                + "trailer<</Root 1 0 R>>\n%").getBytes(StandardCharsets.US_ASCII);
+        byte[] tail = "\n%%EOF\n".getBytes(StandardCharsets.US_ASCII);
+        byte[] pdf = new byte[Math.max(size, head.length + tail.length)];
+        System.arraycopy(head, 0, pdf, 0, head.length);
+        // the content streams of real PDFs are deflated, so the filler is random to compress like them
+        byte[] filler = new byte[pdf.length - head.length - tail.length];
+        new Random(size).nextBytes(filler);
+        System.arraycopy(filler, 0, pdf, head.length, filler.length);
+        System.arraycopy(tail, 0, pdf, pdf.length - tail.length, tail.length);
+        return pdf;
+    }
+
+    /**
+     * A rendered response.
+     *
+     * @author Tamás Tóth
+     * @version 1.0.0
+     * @since 19th of October, 2026
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class StubResponse {
+        private final int status;
+        private final String contentType;
+        private final Map<String, String> headers;
+        private final byte[] body;
+    }
+}
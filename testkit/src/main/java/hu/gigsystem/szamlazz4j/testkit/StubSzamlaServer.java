@@ -0,0 +1,284 @@
+package hu.gigsystem.szamlazz4j.testkit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An embeddable, local stand-in for the Számlázz.hu agent API, for running throughput and soak tests fully offline.
+ *
+ * <p>The server accepts the same multipart uploads as the real agent for all supported actions
+ * ({@code action-xmlagentxmlfile}, {@code action-szamla_agent_st}, {@code action-szamla_agent_pdf},
+ * {@code action-szamla_agent_xml}, {@code action-szamla_agent_kifiz} and {@code action-szamla_agent_dijbekero_torlese})
+ * and answers with responses shaped like the real ones. Latency, PDF size and errors are controlled by a
+ * {@link StubBehavior}, which can be replaced while the server is running.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (StubSzamlaServer server = StubSzamlaServer.start(StubBehavior.builder()
+ *         .latency(Duration.ofMillis(80))
+ *         .build())) {
+ *     SzamlaAgent agent = SzamlaAgent.builder()
+ *             .key("test-key")
+ *             .endpoint(server.getEndpoint())
+ *             .requester(new OkHttpRequester())
+ *             .build();
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @author Tamás Tóth
+ * @version 1.0.0
+ * @since 19th of October, 2026
+ */
+public class StubSzamlaServer implements Closeable {
+
+    /**
+     * The path the agent API is served on, same as on the real endpoint.
+     */
+    public static final String PATH = "/szamla/";
+
+    /**
+     * Responses smaller than this are not compressed.
+     */
+    private static final int MIN_COMPRESSED_SIZE = 256;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private volatile StubBehavior behavior;
+    private volatile StubResponses responses;
+
+    /**
+     * Creates and starts a stub server bound to the loopback interface.
+     *
+     * @param port     the port to listen on, {@code 0} for an ephemeral port
+     * @param behavior the initial behavior of the server
+     * @throws IOException if the server cannot be bound
+     */
+    protected StubSzamlaServer(int port, StubBehavior behavior) throws IOException {
+        this.behavior = behavior;
+        this.responses = new StubResponses(behavior.getPdfSize());
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-szamla-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext(PATH, this::handle);
+        this.server.start();
+    }
+
+    /**
+     * Starts a stub server on an ephemeral port which answers every request immediately and successfully.
+     *
+     * @return the running server
+     * @throws IOException if the server cannot be bound
+     */
+    public static StubSzamlaServer start() throws IOException {
+        return start(0, StubBehavior.defaults());
+    }
+
+    /**
+     * Starts a stub server on an ephemeral port with the given behavior.
+     *
+     * @param behavior the initial behavior of the server
+     * @return the running server
+     * @throws IOException if the server cannot be bound
+     */
+    public static StubSzamlaServer start(StubBehavior behavior) throws IOException {
+        return start(0, behavior);
+    }
+
+    /**
+     * Starts a stub server on the given port with the given behavior.
+     *
+     * @param port     the port to listen on, {@code 0} for an ephemeral port
+     * @param behavior the initial behavior of the server
+     * @return the running server
+     * @throws IOException if the server cannot be bound
+     */
+    public static StubSzamlaServer start(int port, StubBehavior behavior) throws IOException {
+        return new StubSzamlaServer(port, behavior);
+    }
+
+    /**
+     * Returns the URL to configure as the endpoint of a {@code SzamlaAgent}.
+     *
+     * @return the endpoint URL of this server
+     */
+    public String getEndpoint() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + PATH;
+    }
+
+    /**
+     * Returns the behavior the server currently answers with.
+     *
+     * @return the current behavior
+     */
+    public StubBehavior getBehavior() {
+        return behavior;
+    }
+
+    /**
+     * Replaces the behavior of the running server. Requests already being answered are not affected.
+     *
+     * @param behavior the new behavior
+     */
+    public void setBehavior(StubBehavior behavior) {
+        if (behavior.getPdfSize() != this.behavior.getPdfSize()) {
+            this.responses = new StubResponses(behavior.getPdfSize());
+        }
+        this.behavior = behavior;
+    }
+
+    /**
+     * Returns the number of requests received for the given action.
+     *
+     * @param action the action with or without the {@code action-} prefix, e.g. {@code szamla_agent_pdf}
+     * @return the number of requests received
+     */
+    public long getRequestCount(String action) {
+        String normalized = action.startsWith("action-") ? action.substring("action-".length()) : action;
+        LongAdder count = requestCounts.get(normalized);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Returns the number of requests received for all actions.
+     *
+     * @return the number of requests received
+     */
+    public long getRequestCount() {
+        return requestCounts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Returns the number of request body bytes received, as on the wire (compressed if the upload was compressed).
+     *
+     * @return the number of bytes received
+     */
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    /**
+     * Returns the number of response body bytes sent, as on the wire (compressed if the response was compressed).
+     *
+     * @return the number of bytes sent
+     */
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    /**
+     * Stops the server immediately, without waiting for in-flight requests.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Answers a single request according to the current behavior.
+     *
+     * @param exchange the HTTP exchange
+     * @throws IOException if the response cannot be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            StubBehavior current = behavior;
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                // connection warm-up of the transports
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            bytesReceived.add(body.length);
+            if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                    body = in.readAllBytes();
+                }
+            }
+            MultipartUpload upload = MultipartUpload.parse(exchange.getRequestHeaders().getFirst("Content-Type"), body);
+            if (!"POST".equals(exchange.getRequestMethod()) || upload == null) {
+                send(exchange, current, new StubResponses.StubResponse(400, "text/plain; charset=UTF-8", Map.of(),
+                        "Expected a multipart/form-data upload!".getBytes(StandardCharsets.UTF_8)));
+                return;
+            }
+            requestCounts.computeIfAbsent(upload.getAction(), ignored -> new LongAdder()).increment();
+
+            delay(current);
+            if (current.getErrorCode() != null && ThreadLocalRandom.current().nextDouble() < current.getErrorRate()) {
+                send(exchange, current, responses.error(upload, current));
+            } else {
+                send(exchange, current, responses.success(upload));
+            }
+        }
+    }
+
+    private static void delay(StubBehavior behavior) {
+        long delay = behavior.getLatency().toNanos();
+        long jitter = behavior.getLatencyJitter().toNanos();
+        if (jitter > 0) {
+            delay += ThreadLocalRandom.current().nextLong(jitter);
+        }
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay / 1_000_000, (int) (delay % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(HttpExchange exchange, StubBehavior behavior, StubResponses.StubResponse response) throws IOException {
+        byte[] body = response.getBody();
+        exchange.getResponseHeaders().set("Content-Type", response.getContentType());
+        response.getHeaders().forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+        if (behavior.isCompression() && body.length >= MIN_COMPRESSED_SIZE && acceptsGzip(exchange)) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 2);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            body = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(response.getStatus(), body.length == 0 ? -1 : body.length);
+        bytesSent.add(body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return accepted != null && accepted.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+}
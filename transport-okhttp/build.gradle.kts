@@ -16,6 +16,7 @@ dependencies {
     compileOnly(project(":core"))
     compileOnly(platform("com.squareup.okhttp3:okhttp-bom:5.0.0"))
     compileOnly("com.squareup.okhttp3:okhttp")
+    implementation("org.crac:crac:1.4.0")
 
     testImplementation(platform("com.squareup.okhttp3:okhttp-bom:5.0.0"))
     testImplementation("com.squareup.okhttp3:okhttp")
@@ -1,10 +1,24 @@
 package hu.gigsystem.szamlazz4j.transport.okhttp;
 
 import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.request.Compression;
+import hu.gigsystem.szamlazz4j.request.MultipartEncoder;
+import hu.gigsystem.szamlazz4j.request.RawResponse;
 import hu.gigsystem.szamlazz4j.request.Requester;
 import okhttp3.*;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of the {@link Requester} interface using OkHttp to send HTTP requests.
@@ -12,6 +26,14 @@ import java.io.IOException;
  * This class sends a multipart/form-data POST request containing an XML payload
  * to the Számlázz.hu API endpoint.
  * </p>
+ * <p>
+ * Compressed responses are negotiated and decompressed by OkHttp transparently, while the body is streamed;
+ * see {@link Compression} for the settings.
+ * </p>
+ * <p>
+ * On a JVM with CRaC (Coordinated Restore at Checkpoint), the pooled connections are closed before a checkpoint,
+ * as open sockets cannot be checkpointed, and new ones are opened on demand after the restore.
+ * </p>
  *
  * @author Tamás Tóth
  * @version 1.0.0
@@ -19,8 +41,36 @@ import java.io.IOException;
  */
 public class OkHttpRequester implements Requester {
 
-    private final OkHttpClient client = new OkHttpClient();
-    private final MediaType mediaType = MediaType.parse("application/xml");
+    private static final int MAX_ASYNC_REQUESTS = 256;
+
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .dispatcher(createDispatcher())
+            .build();
+    private final MultipartEncoder encoder = new MultipartEncoder();
+    private final MediaType mediaType = MediaType.get(encoder.getContentType());
+    private final Compression compression;
+
+    /**
+     * The CRaC hook of this requester. The global context only holds it weakly, so it is referenced from here.
+     */
+    private final Resource checkpointHook = new CheckpointHook();
+
+    /**
+     * Creates a requester with the {@linkplain Compression#DEFAULT default compression settings}.
+     */
+    public OkHttpRequester() {
+        this(Compression.DEFAULT);
+    }
+
+    /**
+     * Creates a requester with the given compression settings.
+     *
+     * @param compression the compression of the requests and responses
+     */
+    public OkHttpRequester(Compression compression) {
+        this.compression = compression;
+        Core.getGlobalContext().register(checkpointHook);
+    }
 
     /**
      * Sends an HTTP POST request to the Számlázz.hu endpoint with the given XML payload
@@ -28,25 +78,202 @@ public class OkHttpRequester implements Requester {
      *
      * @param xmlPayload the XML content to send as part of the request body
      * @param fileName   the form data part name and the file name for the XML content
-     * @param agent      the {@link SzamlaAgent} providing authentication credentials (not directly used here)
+     * @param agent      the {@link SzamlaAgent} providing the endpoint to send the request to
      * @return the raw response body string returned by the server
      * @throws IOException if there is a network or I/O error during the request
      */
     @Override
     public String doRequest(String xmlPayload, String fileName, SzamlaAgent agent) throws IOException {
-        RequestBody body = new MultipartBody.Builder()
-                .setType(MultipartBody.FORM)
-                .addFormDataPart(fileName, fileName + ".xml", RequestBody.create(xmlPayload, mediaType))
-                .build();
-
-        Request request = new Request.Builder()
-                .url(SzamlaAgent.ENDPOINT)
-                .post(body)
-                .build();
-
-        Call call = client.newCall(request);
-        try (Response response = call.execute()) {
-            return response.body().string();
+        try (RawResponse response = execute(xmlPayload, fileName, agent, null)) {
+            return response.readString();
+        }
+    }
+
+    /**
+     * Sends the request like {@link #doRequest(String, String, SzamlaAgent)}, with a timeout on the whole call.
+     *
+     * @param xmlPayload the XML content to send as part of the request body
+     * @param fileName   the form data part name and the file name for the XML content
+     * @param agent      the {@link SzamlaAgent} providing the endpoint to send the request to
+     * @param timeout    the maximum duration of the call
+     * @return the raw response body string returned by the server
+     * @throws IOException if there is a network or I/O error, the call timed out or the thread was interrupted
+     */
+    @Override
+    public String doRequest(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+        try (RawResponse response = execute(xmlPayload, fileName, agent, timeout)) {
+            return response.readString();
+        }
+    }
+
+    /**
+     * Sends the request and returns the response with its status, headers and streamed body.
+     *
+     * <p>With a timeout, the call is enqueued on the dispatcher of the client, so it can be cancelled when the calling thread
+     * is interrupted, which a blocking {@link Call#execute()} would not notice. The timeout also covers reading the body.</p>
+     *
+     * @param xmlPayload the XML content to send as part of the request body
+     * @param fileName   the form data part name and the file name for the XML content
+     * @param agent      the {@link SzamlaAgent} providing the endpoint to send the request to
+     * @param timeout    the maximum duration of the call, {@code null} for no timeout
+     * @return the response, which must be closed to release the connection
+     * @throws IOException if there is a network or I/O error, the call timed out or the thread was interrupted
+     */
+    @Override
+    public RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+        Call call = client.newCall(createRequest(xmlPayload, fileName, agent));
+        if (timeout == null) {
+            return toRawResponse(call.execute());
+        }
+        call.timeout().timeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                if (!result.complete(response)) {
+                    response.close();
+                }
+            }
+        });
+
+        try {
+            return toRawResponse(result.get());
+        } catch (InterruptedException e) {
+            call.cancel();
+            // a response arriving after the cancellation still holds a connection
+            result.thenAccept(Response::close);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Szamlazz request was cancelled!");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Szamlazz request resulted in error!", e.getCause());
+        }
+    }
+
+    /**
+     * Opens a connection to the endpoint with a {@code HEAD} request, which is kept in the connection pool of the client.
+     *
+     * @param agent the {@link SzamlaAgent} providing the endpoint to connect to
+     * @throws IOException if the endpoint cannot be reached
+     */
+    @Override
+    public void preconnect(SzamlaAgent agent) throws IOException {
+        Request request = new Request.Builder().url(agent.getEndpoint()).head().build();
+        client.newCall(request).execute().close();
+    }
+
+    private static RawResponse toRawResponse(Response response) {
+        return new RawResponse(response.code(), response.headers().toMultimap(), response.body().byteStream()) {
+            @Override
+            public void close() {
+                response.close();
+            }
+        };
+    }
+
+    /**
+     * Creates the multipart/form-data POST request of the payload, written by the shared {@link MultipartEncoder}.
+     *
+     * @param xmlPayload the XML content to send as part of the request body
+     * @param fileName   the form data part name and the file name for the XML content
+     * @param agent      the {@link SzamlaAgent} providing the endpoint to send the request to
+     * @return the request to execute
+     */
+    private Request createRequest(String xmlPayload, String fileName, SzamlaAgent agent) {
+        long length = encoder.contentLength(fileName, xmlPayload);
+        RequestBody body = new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return mediaType;
+            }
+
+            @Override
+            public long contentLength() {
+                return length;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                encoder.writeTo(sink.outputStream(), fileName, xmlPayload);
+            }
+        };
+
+        Request.Builder request = new Request.Builder().url(agent.getEndpoint());
+        if (!compression.isAcceptCompressed()) {
+            // OkHttp only asks for gzip itself if the header is not set
+            request.header("Accept-Encoding", "identity");
+        }
+        if (compression.shouldCompress(length)) {
+            request.header("Content-Encoding", "gzip");
+            body = gzip(body);
+        }
+        return request.post(body).build();
+    }
+
+    /**
+     * Wraps a request body to compress it with gzip while it is written.
+     *
+     * @param body the body to compress
+     * @return the compressed body, of unknown length
+     */
+    private static RequestBody gzip(RequestBody body) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return body.contentType();
+            }
+
+            @Override
+            public long contentLength() {
+                return -1;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                try (BufferedSink gzip = Okio.buffer(new GzipSink(sink))) {
+                    body.writeTo(gzip);
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates the dispatcher of the asynchronous calls. Blocking calls are not limited by OkHttp,
+     * so the default limit of 5 concurrent calls per host is raised to keep calls with a timeout
+     * from queueing behind each other.
+     *
+     * @return the dispatcher of the client
+     */
+    private static Dispatcher createDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_ASYNC_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_ASYNC_REQUESTS);
+        return dispatcher;
+    }
+
+    /**
+     * Closes the pooled connections before a checkpoint. After the restore the pool opens new connections on demand,
+     * so nothing has to be restored.
+     */
+    private class CheckpointHook implements Resource {
+
+        @Override
+        public void beforeCheckpoint(Context<? extends Resource> context) {
+            client.dispatcher().cancelAll();
+            client.connectionPool().evictAll();
+        }
+
+        @Override
+        public void afterRestore(Context<? extends Resource> context) {
+            // connections are reopened lazily by the pool
         }
     }
 }
@@ -1,16 +1,23 @@
 package hu.gigsystem.szamlazz4j.transport.resttemplate;
 
 import hu.gigsystem.szamlazz4j.SzamlaAgent;
+import hu.gigsystem.szamlazz4j.request.Compression;
+import hu.gigsystem.szamlazz4j.request.MultipartEncoder;
+import hu.gigsystem.szamlazz4j.request.RawResponse;
 import hu.gigsystem.szamlazz4j.request.Requester;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.net.HttpURLConnection;
+import java.time.Duration;
 
 /**
  * Implementation of the {@link Requester} interface using Spring's RestTemplate to send HTTP requests.
@@ -18,6 +25,10 @@ import java.nio.charset.StandardCharsets;
  * This class sends a multipart/form-data POST request containing an XML payload
  * to the Számlázz.hu API endpoint.
  * </p>
+ * <p>
+ * {@link java.net.HttpURLConnection} does not negotiate compression, so the {@code Accept-Encoding} header is set
+ * and compressed responses are decompressed here, see {@link Compression} for the settings.
+ * </p>
  *
  * @author Tamás Tóth
  * @version 1.0.0
@@ -25,7 +36,33 @@ import java.nio.charset.StandardCharsets;
  */
 public class RestTemplatRequester implements Requester {
 
-    private final RestTemplate template = new RestTemplate();
+    /**
+     * The timeout of the call running on the current thread, read by {@link TimeoutRequestFactory}.
+     */
+    private static final ThreadLocal<Duration> TIMEOUT = new ThreadLocal<>();
+
+    private final RestTemplate template = new RestTemplate(new TimeoutRequestFactory());
+    private final MultipartEncoder encoder = new MultipartEncoder();
+    private final Compression compression;
+
+    /**
+     * Creates a requester with the {@linkplain Compression#DEFAULT default compression settings}.
+     */
+    public RestTemplatRequester() {
+        this(Compression.DEFAULT);
+    }
+
+    /**
+     * Creates a requester with the given compression settings.
+     *
+     * @param compression the compression of the requests and responses
+     */
+    public RestTemplatRequester(Compression compression) {
+        this.compression = compression;
+        if (compression.isCompressRequests()) {
+            template.getInterceptors().add(this::compress);
+        }
+    }
 
     /**
      * Sends an HTTP POST request to the Számlázz.hu endpoint with the given XML payload
@@ -33,50 +70,153 @@ public class RestTemplatRequester implements Requester {
      *
      * @param xmlPayload the XML content to send as part of the request body
      * @param fileName   the form data part name and the file name for the XML content
-     * @param agent      the {@link SzamlaAgent} providing authentication credentials (not directly used here)
+     * @param agent      the {@link SzamlaAgent} providing the endpoint to send the request to
      * @return the raw response body string returned by the server
      * @throws IOException if there is a network or I/O error during the request
      */
     @Override
     public String doRequest(String xmlPayload, String fileName, SzamlaAgent agent) throws IOException {
-        LinkedMultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-        ByteArrayResource file = getResourceFromPayload(xmlPayload, fileName);
-        body.add(fileName, file);
+        try (RawResponse response = execute(xmlPayload, fileName, agent, null)) {
+            return response.readString();
+        }
+    }
+
+    /**
+     * Sends the request like {@link #doRequest(String, String, SzamlaAgent)}, with the given timeout
+     * applied as the connect and read timeout of the connection.
+     * <p>
+     * {@link java.net.HttpURLConnection} cannot be interrupted, so a cancelled call (e.g. the losing attempt of a hedged request)
+     * still runs until the response arrives or the timeout elapses.
+     * </p>
+     *
+     * @param xmlPayload the XML content to send as part of the request body
+     * @param fileName   the form data part name and the file name for the XML content
+     * @param agent      the {@link SzamlaAgent} providing the endpoint to send the request to
+     * @param timeout    the maximum duration of connecting and of waiting for the response
+     * @return the raw response body string returned by the server
+     * @throws IOException if there is a network or I/O error during the request, or it timed out
+     */
+    @Override
+    public String doRequest(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+        try (RawResponse response = execute(xmlPayload, fileName, agent, timeout)) {
+            return response.readString();
+        }
+    }
+
+    /**
+     * Sends the request and returns the response with its status and headers. RestTemplate closes the connection
+     * once the exchange is over, so the body is read into memory.
+     *
+     * @param xmlPayload the XML content to send as part of the request body
+     * @param fileName   the form data part name and the file name for the XML content
+     * @param agent      the {@link SzamlaAgent} providing the endpoint to send the request to
+     * @param timeout    the maximum duration of connecting and of waiting for the response, {@code null} for none
+     * @return the response
+     * @throws IOException if there is a network or I/O error during the request, or it timed out
+     */
+    @Override
+    public RawResponse execute(String xmlPayload, String fileName, SzamlaAgent agent, Duration timeout) throws IOException {
+        TIMEOUT.set(timeout);
         try {
-            return doRequest(body);
+            return template.execute(agent.getEndpoint(), HttpMethod.POST,
+                    request -> writeRequest(request, xmlPayload, fileName), RestTemplatRequester::toRawResponse);
         } catch (RestClientException e) {
             throw new IOException("Szamlazz request resulted in error!", e);
+        } finally {
+            TIMEOUT.remove();
         }
     }
 
     /**
-     * Does the actual request to Számlázz.
+     * Opens a connection to the endpoint with a {@code HEAD} request, which {@link HttpURLConnection} keeps alive for the next request.
+     * Any HTTP status means the connection was made.
      *
-     * @param body the multipart form data
-     * @return the raw response XML
-     * @throws RestClientException if the request fails or there is a network or I/O error
+     * @param agent the {@link SzamlaAgent} providing the endpoint to connect to
+     * @throws IOException if the endpoint cannot be reached
+     */
+    @Override
+    public void preconnect(SzamlaAgent agent) throws IOException {
+        try {
+            template.execute(agent.getEndpoint(), HttpMethod.HEAD, null, response -> null);
+        } catch (RestClientResponseException e) {
+            // connected, the endpoint just does not answer HEAD requests
+        } catch (RestClientException e) {
+            throw new IOException("Szamlazz endpoint cannot be reached!", e);
+        }
+    }
+
+    /**
+     * Writes the multipart/form-data upload of the payload with the shared {@link MultipartEncoder},
+     * streamed into the connection when the request supports it.
+     *
+     * @param request    the request to write
+     * @param xmlPayload the XML content to send as part of the request body
+     * @param fileName   the form data part name and the file name for the XML content
+     * @throws IOException if the body cannot be written
      */
-    private String doRequest(LinkedMultiValueMap<String, Object> body) throws RestClientException {
+    private void writeRequest(ClientHttpRequest request, String xmlPayload, String fileName) throws IOException {
+        HttpHeaders headers = request.getHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, encoder.getContentType());
+        headers.set(HttpHeaders.ACCEPT_ENCODING, compression.acceptEncoding());
+        headers.setContentLength(encoder.contentLength(fileName, xmlPayload));
+        if (request instanceof StreamingHttpOutputMessage streaming) {
+            streaming.setBody(out -> encoder.writeTo(out, fileName, xmlPayload));
+        } else {
+            encoder.writeTo(request.getBody(), fileName, xmlPayload);
+        }
+    }
+
+    /**
+     * Reads the response into memory, as RestTemplate closes the connection once the exchange is over.
+     *
+     * @param response the response
+     * @return the response with the body decompressed while it is read
+     * @throws IOException if the body cannot be read
+     */
+    private static RawResponse toRawResponse(ClientHttpResponse response) throws IOException {
+        byte[] body = response.getBody().readAllBytes();
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-        HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
-        ResponseEntity<String> raw = template.exchange(SzamlaAgent.ENDPOINT, HttpMethod.POST, request, String.class);
-        return raw.getBody();
+        headers.putAll(response.getHeaders());
+        // the body is decompressed while it is read, so these headers no longer describe it
+        headers.remove(HttpHeaders.CONTENT_ENCODING);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        return new RawResponse(response.getStatusCode().value(), headers,
+                Compression.decode(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), new ByteArrayInputStream(body)));
     }
 
     /**
-     * Creates a byte array resource from the raw xml payload, so we can upload as a file.
+     * Interceptor compressing the serialized multipart body, if it is large enough.
      *
-     * @param xmlPayload the raw XML string data
-     * @param fileName the name of the file
-     * @return the generated resource
+     * @param request   the request
+     * @param body      the serialized body
+     * @param execution the rest of the chain
+     * @return the response
+     * @throws IOException if there is a network or I/O error during the request
      */
-    private ByteArrayResource getResourceFromPayload(String xmlPayload, String fileName) {
-        return new ByteArrayResource(xmlPayload.getBytes(StandardCharsets.UTF_8)) {
-            @Override
-            public String getFilename() {
-                return fileName + ".xml";
+    private ClientHttpResponse compress(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!compression.shouldCompress(body.length)) {
+            return execution.execute(request, body);
+        }
+        byte[] compressed = Compression.gzip(body);
+        request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.getHeaders().setContentLength(compressed.length);
+        return execution.execute(request, compressed);
+    }
+
+    /**
+     * Request factory applying the timeout of the current call, if there is one, to the connection.
+     */
+    private static class TimeoutRequestFactory extends SimpleClientHttpRequestFactory {
+
+        @Override
+        protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+            super.prepareConnection(connection, httpMethod);
+            Duration timeout = TIMEOUT.get();
+            if (timeout != null) {
+                int millis = (int) Math.max(1, Math.min(Integer.MAX_VALUE, timeout.toMillis()));
+                connection.setConnectTimeout(millis);
+                connection.setReadTimeout(millis);
             }
-        };
+        }
     }
 }